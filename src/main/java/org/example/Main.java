@@ -7,8 +7,10 @@ import org.example.repository.database.MessageDatabaseRepository;
 import org.example.repository.database.NotificationDatabaseRepository;
 import org.example.repository.database.UserDatabaseRepository;
 import org.example.repository.Repository;
+import org.example.repository.cache.CachingRepository;
 import org.example.service.*;
 import org.example.ui.SocialNetworkApplication;
+import org.example.utils.Config;
 
 import java.io.IOException;
 
@@ -25,7 +27,8 @@ public class Main {
      */
     public static void main(String[] args) throws IOException {
         Validator<User> userValidator = new UserValidator();
-        Repository<String, User> userRepository = new UserDatabaseRepository(userValidator);
+        Repository<String, User> userRepository = new CachingRepository<>(new UserDatabaseRepository(userValidator),
+                Config.DEFAULT_USER_CACHE_SIZE, Config.DEFAULT_USER_CACHE_TTL, User::copy);
         Service<String, User> userService = new UserService(userRepository);
 
         Validator<Friendship> friendshipValidator = new FriendshipValidator(userRepository);
@@ -16,6 +16,8 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
 import java.util.stream.StreamSupport;
@@ -40,6 +42,9 @@ public class AddFriendController implements Observer {
     // Tracks the current page of search results
     private int currentPage = 0;
 
+    // Keyset cursors of the pages visited in order, where the cursor at index i starts page i
+    private final List<String> pageCursors = new ArrayList<>(Collections.singletonList(null));
+
     @FXML
     private TextField firstNameSearchField;
 
@@ -100,19 +105,19 @@ public class AddFriendController implements Observer {
         // Add listeners to the search fields for dynamic filtering
         firstNameSearchField.textProperty().addListener(o -> {
             filter.setFirstName(Optional.ofNullable(firstNameSearchField.getText()));
-            currentPage = 0;
+            resetPages();
             fetchAllUsers();
         });
 
         lastNameSearchField.textProperty().addListener(o -> {
             filter.setLastName(Optional.ofNullable(lastNameSearchField.getText()));
-            currentPage = 0;
+            resetPages();
             fetchAllUsers();
         });
 
         emailSearchField.textProperty().addListener(o -> {
             filter.setEmail(Optional.ofNullable(emailSearchField.getText()));
-            currentPage = 0;
+            resetPages();
             fetchAllUsers();
         });
     }
@@ -125,9 +130,19 @@ public class AddFriendController implements Observer {
      */
     @Override
     public void update(Observable o, Object arg) {
+        resetPages();
         fetchAllUsers();
     }
 
+    /**
+     * Goes back to the first page and forgets the cursors of the visited pages.
+     */
+    private void resetPages() {
+        currentPage = 0;
+        pageCursors.clear();
+        pageCursors.add(null);
+    }
+
     /**
      * Fetches all users from the network in a separate thread to avoid blocking the UI.
      */
@@ -135,8 +150,8 @@ public class AddFriendController implements Observer {
         // Number of users displayed per page
         int pageSize = 5;
 
-        // Fetch paginated users from the network
-        Page<User> userPage = network.findAllUsersOnPage(new Pageable(currentPage, pageSize), filter);
+        // Fetch paginated users from the network, seeking from the cursor of the page if it was already reached
+        Page<User> userPage = network.findAllUsersOnPage(pageableFor(currentPage, pageSize), filter);
 
         // Calculate total pages and adjust the current page if necessary
         int totalNumberOfPages = (int) Math.ceil((double) userPage.getTotalNumberOfElements() / pageSize) - 1;
@@ -145,7 +160,12 @@ public class AddFriendController implements Observer {
         }
         if (currentPage > totalNumberOfPages) {
             currentPage = totalNumberOfPages;
-            userPage = network.findAllUsersOnPage(new Pageable(currentPage, pageSize), filter);
+            userPage = network.findAllUsersOnPage(pageableFor(currentPage, pageSize), filter);
+        }
+
+        // Remember where the next page starts
+        if (userPage.getNextCursor() != null && pageCursors.size() == currentPage + 1) {
+            pageCursors.add(userPage.getNextCursor());
         }
 
         // Enable/disable navigation buttons based on the current page
@@ -158,6 +178,22 @@ public class AddFriendController implements Observer {
         currentPageLabel.setText("Page " + (currentPage + 1) + " of " + (totalNumberOfPages + 1));
     }
 
+    /**
+     * Creates the pagination details of a page, using keyset pagination when browsing without search terms and the
+     * cursor of the page is known, and falling back to offset pagination otherwise.
+     * Search results are ordered by relevance, which only offset pagination supports.
+     *
+     * @param pageNumber the number of the page
+     * @param pageSize the number of users displayed per page
+     * @return the pagination details of the page
+     */
+    private Pageable pageableFor(int pageNumber, int pageSize) {
+        if (filter.isEmpty() && pageNumber < pageCursors.size()) {
+            return new Pageable(pageNumber, pageSize, pageCursors.get(pageNumber));
+        }
+        return new Pageable(pageNumber, pageSize);
+    }
+
     /**
      * Handles the action of sending a friend request to the user entered in the search field.
      */
@@ -1,13 +1,16 @@
 package org.example.controllers;
 
+import javafx.application.Platform;
 import org.example.models.*;
 import org.example.models.validators.*;
 import org.example.repository.Repository;
+import org.example.repository.cache.CachingRepository;
 import org.example.repository.database.FriendshipDatabaseRepository;
 import org.example.repository.database.MessageDatabaseRepository;
 import org.example.repository.database.NotificationDatabaseRepository;
 import org.example.repository.database.UserDatabaseRepository;
 import org.example.service.*;
+import org.example.utils.Config;
 
 /**
  * A singleton-like class to manage a shared {@link Network} instance.
@@ -27,7 +30,8 @@ public class GlobalNetwork {
     public static Network getNetwork() {
         if (network == null) {
             Validator<User> userValidator = new UserValidator();
-            Repository<String, User> userRepository = new UserDatabaseRepository(userValidator);
+            Repository<String, User> userRepository = new CachingRepository<>(new UserDatabaseRepository(userValidator),
+                    Config.DEFAULT_USER_CACHE_SIZE, Config.DEFAULT_USER_CACHE_TTL, User::copy);
             Service<String, User> userService = new UserService(userRepository);
 
             Validator<Friendship> friendshipValidator = new FriendshipValidator(userRepository);
@@ -43,6 +47,16 @@ public class GlobalNetwork {
             Service<String, Notification> notificationService = new NotificationService(notificationRepository);
 
             network = new Network(userService, friendshipService, messageService, notificationService);
+
+            // Controllers update the user interface, so notify them on the JavaFX thread even when the network is
+            // changed asynchronously
+            network.setObserverExecutor(command -> {
+                if (Platform.isFxApplicationThread()) {
+                    command.run();
+                } else {
+                    Platform.runLater(command);
+                }
+            });
         }
 
         return network;
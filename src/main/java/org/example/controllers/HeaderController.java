@@ -1,9 +1,6 @@
 package org.example.controllers;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.scene.image.Image;
-import org.example.models.Notification;
 import org.example.models.Observable;
 import org.example.models.Observer;
 import org.example.service.Network;
@@ -13,9 +10,7 @@ import javafx.fxml.FXML;
 import javafx.stage.Stage;
 import javafx.scene.image.ImageView;
 
-import java.util.List;
 import java.util.Objects;
-import java.util.stream.StreamSupport;
 
 /**
  * Controller class for handling user interactions in the header section of the application.
@@ -25,9 +20,6 @@ public class HeaderController implements Observer {
     // The Network instance used for communication with the server
     private Network network;
 
-    // Observable list to hold the user notifications (notification description)
-    private final ObservableList<String> notifications = FXCollections.observableArrayList();
-
     @FXML
     private ImageView homeImage;
 
@@ -60,21 +52,15 @@ public class HeaderController implements Observer {
     }
 
     /**
-     * Fetches all notification updates for the logged-in user.
+     * Fetches the number of notifications of the logged-in user and updates the notifications icon.
      */
     private void fetchAllNotifications() {
-        // Fetch all notifications of logged-in user from the network
-        Iterable<Notification> allNotifications = network.getUserNotifications(UserController.getUser().getId());
-
-        // Convert notifications to plain text and update the notifications list
-        List<String> plainTextNotifications = StreamSupport.stream(allNotifications.spliterator(), false)
-                .map(Notification::getDescription)
-                .toList();
-        notifications.setAll(plainTextNotifications);
+        // Read the unread notifications counter of logged-in user, without loading the notifications
+        int notificationCount = network.countUnreadNotifications(UserController.getUser().getId());
 
         // Display specific notifications icon
         Image newImage;
-        if (plainTextNotifications.isEmpty()) {
+        if (notificationCount == 0) {
             newImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream(
                     "/assets/images/pngs/notifications-icon.png")));
         } else {
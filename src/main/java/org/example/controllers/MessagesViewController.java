@@ -20,13 +20,17 @@ import org.example.models.Observable;
 import org.example.models.Observer;
 import org.example.models.User;
 import org.example.service.Network;
+import org.example.utils.Config;
 import org.example.utils.PopupNotification;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class MessagesViewController implements Observer {
 
@@ -36,8 +40,11 @@ public class MessagesViewController implements Observer {
     // All friends of the logged-in user
     private Iterable<User> allUsers = List.of();
 
-    // All chat messages between two users
-    private Iterable<Message> allMessages = List.of();
+    // Loaded chat messages between two users, oldest first
+    private List<Message> allMessages = new ArrayList<>();
+
+    // Whether messages older than the loaded ones may exist
+    private boolean hasOlderMessages = false;
 
     // Observable lists for search results and conversation messages
     private final ObservableList<String> searchResults = FXCollections.observableArrayList();
@@ -101,6 +108,13 @@ public class MessagesViewController implements Observer {
             }
         });
 
+        // Load older messages once the conversation is scrolled to the top
+        messagesScroller.vvalueProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue.doubleValue() == 0 && hasOlderMessages) {
+                fetchOlderMessages();
+            }
+        });
+
         // Set up click listener for results list
         resultsListView.setOnMouseClicked(event -> {
             String selectedItem = resultsListView.getSelectionModel().getSelectedItem();
@@ -148,23 +162,62 @@ public class MessagesViewController implements Observer {
     }
 
     /**
-     * Fetches all chat messages between the logged-in user and the selected recipient.
+     * Fetches the latest chat messages between the logged-in user and the selected recipient.
      */
     private void fetchAllMessages() {
         // Retrieve the receiver user using their email
         Optional<User> receiverUser = network.findUserByEmail(receiverEmail.getText());
 
-        // Fetch chat messages from the network
-        allMessages = network.getChat(UserController.getUser().getId(), receiverUser.get().getId());
+        // Fetch the latest page of chat messages from the network
+        allMessages = new ArrayList<>(network.getChat(UserController.getUser().getId(), receiverUser.get().getId(),
+                null, null, Config.DEFAULT_CHAT_PAGE_SIZE));
+        hasOlderMessages = allMessages.size() == Config.DEFAULT_CHAT_PAGE_SIZE;
+
+        // Display the chat messages in the UI
+        updateMessages();
+        displayChatMessages();
+
+        // Scroll to the bottom of the messages
+        Platform.runLater(this::scrollToBottom);
+    }
+
+    /**
+     * Fetches the page of chat messages preceding the loaded ones and prepends it to the conversation.
+     */
+    private void fetchOlderMessages() {
+        if (allMessages.isEmpty()) {
+            hasOlderMessages = false;
+            return;
+        }
+
+        // Retrieve the receiver user using their email
+        Optional<User> receiverUser = network.findUserByEmail(receiverEmail.getText());
+
+        // Fetch the messages preceding the oldest loaded message
+        Message oldestMessage = allMessages.get(0);
+        List<Message> olderMessages = network.getChat(UserController.getUser().getId(), receiverUser.get().getId(),
+                oldestMessage.getDate(), oldestMessage.getId(), Config.DEFAULT_CHAT_PAGE_SIZE);
+        hasOlderMessages = olderMessages.size() == Config.DEFAULT_CHAT_PAGE_SIZE;
+        if (olderMessages.isEmpty()) {
+            return;
+        }
+        allMessages.addAll(0, olderMessages);
+
+        // Display the chat messages in the UI, keeping the previously oldest message in view
+        updateMessages();
+        displayChatMessages();
+        double position = (double) olderMessages.size() / allMessages.size();
+        Platform.runLater(() -> messagesScroller.setVvalue(position));
+    }
 
-        // Convert messages to plain text and update the messages list
-        List<String> plainTextMessages = StreamSupport.stream(allMessages.spliterator(), false)
+    /**
+     * Converts the loaded messages to plain text and updates the messages list.
+     */
+    private void updateMessages() {
+        List<String> plainTextMessages = allMessages.stream()
                 .map(Message::getMessage)
                 .toList();
         messages.setAll(plainTextMessages);
-
-        // Display the chat messages in the UI
-        displayChatMessages();
     }
 
     /**
@@ -184,35 +237,34 @@ public class MessagesViewController implements Observer {
 
     /**
      * Handles sending a new message.
-     * Retrieves the receiver and sends the message through the network.
+     * Retrieves the receiver and sends the message through the network in the background, updating the UI once the
+     * message is sent.
      */
     public void handleSendMessage() {
         Stage stage = (Stage) messageField.getScene().getWindow();
-
-        try {
-            // Retrieve the receiver user by email
-            Optional<User> receiverUser = network.findUserByEmail(receiverEmail.getText());
-            if (receiverUser.isEmpty()) {
-                PopupNotification.showNotification(stage, "Please select a friend", 4000, "#ef5356");
-                return;
-            }
-
-            // Create a new message object
-            Message message = new Message(UserController.getUser().getId(),
-                    receiverUser.get().getId(),
-                    messageField.getText());
-
-            // Send the message through the network
-            network.addMessage(message);
-
-            // Clear the message field
-            messageField.clear();
-
-            // Refresh chat messages
-            fetchAllMessages();
-        } catch (Exception e) {
-            PopupNotification.showNotification(stage, e.getMessage(), 4000, "#ef5356");
-        }
+        String senderId = UserController.getUser().getId();
+        String plainText = messageField.getText();
+
+        // Retrieve the receiver user by email, then send the message through the network
+        network.findUserByEmailAsync(receiverEmail.getText())
+                .thenCompose(receiverUser -> receiverUser
+                        .map(receiver -> network.addMessageAsync(new Message(senderId, receiver.getId(), plainText))
+                                .thenApply(message -> true))
+                        .orElseGet(() -> CompletableFuture.completedFuture(false)))
+                .whenComplete((sent, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        PopupNotification.showNotification(stage, cause.getMessage(), 4000, "#ef5356");
+                    } else if (!sent) {
+                        PopupNotification.showNotification(stage, "Please select a friend", 4000, "#ef5356");
+                    } else {
+                        // Clear the message field and refresh chat messages
+                        messageField.clear();
+                        fetchAllMessages();
+                    }
+                }));
     }
 
     /**
@@ -224,7 +276,7 @@ public class MessagesViewController implements Observer {
         chatMessages.getChildren().clear();
 
         // Create and add message containers for each sent message between the two users
-        List<Node> messageNodes = StreamSupport.stream(allMessages.spliterator(), false)
+        List<Node> messageNodes = allMessages.stream()
                 .map(message -> {
                     Label messageLabel = new Label(message.getMessage());
                     messageLabel.getStyleClass().add("message-label");
@@ -247,9 +299,6 @@ public class MessagesViewController implements Observer {
 
         // Add all message containers to the VBox
         chatMessages.getChildren().addAll(messageNodes);
-
-        // Scroll to the bottom of the messages
-        Platform.runLater(this::scrollToBottom);
     }
 
     /**
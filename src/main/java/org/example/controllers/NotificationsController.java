@@ -10,9 +10,9 @@ import org.example.models.Notification;
 import org.example.models.Observable;
 import org.example.models.Observer;
 import org.example.service.Network;
+import org.example.utils.Config;
 
 import java.util.List;
-import java.util.stream.StreamSupport;
 
 /**
  * Controller class that handles notification updates for the logged-in user.
@@ -22,8 +22,8 @@ public class NotificationsController implements Observer {
     // The Network instance used for communication with the server
     private Network network;
 
-    // All notifications of logged-in user
-    private Iterable<Notification> allNotifications = List.of();
+    // Most recent notifications of logged-in user
+    private List<Notification> allNotifications = List.of();
 
     // Observable list to hold the user notifications (notification description)
     private final ObservableList<String> notifications = FXCollections.observableArrayList();
@@ -60,14 +60,15 @@ public class NotificationsController implements Observer {
     }
 
     /**
-     * Fetches all notification updates for the logged-in user.
+     * Fetches the most recent notification updates for the logged-in user.
      */
     private void fetchAllNotifications() {
-        // Fetch notifications from the network
-        allNotifications = network.getUserNotifications(UserController.getUser().getId());
+        // Fetch the most recent notifications from the network
+        allNotifications = network.getUserNotifications(UserController.getUser().getId(),
+                Config.DEFAULT_NOTIFICATION_PAGE_SIZE, null);
 
         // Convert notifications to plain text and update the notifications list
-        List<String> plainTextNotifications = StreamSupport.stream(allNotifications.spliterator(), false)
+        List<String> plainTextNotifications = allNotifications.stream()
                 .map(Notification::getDescription)
                 .toList();
         notifications.setAll(plainTextNotifications);
@@ -91,10 +92,11 @@ public class NotificationsController implements Observer {
     }
 
     /**
-     * Mark all notifications as read and remove them.
+     * Mark all displayed notifications as read and remove them at once.
      */
     public void handleMarkNotifications() {
-        StreamSupport.stream(allNotifications.spliterator(), false)
-                .forEach(notification -> network.deleteNotification(notification.getId()));
+        network.deleteNotifications(allNotifications.stream()
+                .map(Notification::getId)
+                .toList());
     }
 }
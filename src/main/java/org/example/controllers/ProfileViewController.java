@@ -2,6 +2,7 @@ package org.example.controllers;
 
 import org.example.exceptions.EntityAlreadyExistsException;
 import org.example.models.*;
+import org.example.models.dtos.ProfileSnapshotDTO;
 import org.example.service.Network;
 import org.example.utils.PopupNotification;
 import org.example.utils.SceneUtils;
@@ -14,7 +15,6 @@ import javafx.collections.ObservableList;
 import javafx.collections.FXCollections;
 import javafx.stage.Stage;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -100,7 +100,6 @@ public class ProfileViewController implements Observer {
         firstNameColumn.setCellValueFactory(cellData -> cellData.getValue().firstNameProperty());
         lastNameColumn.setCellValueFactory(cellData -> cellData.getValue().lastNameProperty());
         emailColumn.setCellValueFactory(cellData -> cellData.getValue().emailProperty());
-        friendsData = setFriendsData();
         friendsTable.setItems(friendsData);
 
         // Set up listener for friend selection
@@ -115,7 +114,6 @@ public class ProfileViewController implements Observer {
         requestesFirstNameColumn.setCellValueFactory(cellData -> cellData.getValue().firstNameProperty());
         requestesLastNameColumn.setCellValueFactory(cellData -> cellData.getValue().lastNameProperty());
         requestesEmailColumn.setCellValueFactory(cellData -> cellData.getValue().emailProperty());
-        sentRequestsData = setSentRequestsData();
         sentRequestsTable.setItems(sentRequestsData);
 
         // Set up listener for sent request selection
@@ -130,9 +128,11 @@ public class ProfileViewController implements Observer {
         requestedFirstNameColumn.setCellValueFactory(cellData -> cellData.getValue().firstNameProperty());
         requestedLastNameColumn.setCellValueFactory(cellData -> cellData.getValue().lastNameProperty());
         requestedEmailColumn.setCellValueFactory(cellData -> cellData.getValue().emailProperty());
-        receivedRequestsData = setReceivedRequestsData();
         receivedRequestsTable.setItems(receivedRequestsData);
 
+        // Fill the tables with the friends and requests of the user
+        setProfileData();
+
         // Set up listener for received request selection
         receivedRequestsTable.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -149,25 +149,15 @@ public class ProfileViewController implements Observer {
      */
     @Override
     public void update(Observable o, Object arg) {
-        friendsData.setAll(setFriendsData());
-        sentRequestsData.setAll(setSentRequestsData());
-        receivedRequestsData.setAll(setReceivedRequestsData());
-    }
-
-    // Methods for retrieving and updating the user data displayed in the tables
-    private ObservableList<User> setFriendsData() {
-        List<User> friendsOfUser = (List<User>) network.getFriendsOfUser(user.getId());
-        return FXCollections.observableArrayList(friendsOfUser);
-    }
-
-    private ObservableList<User> setSentRequestsData() {
-        List<User> sentRequests = (List<User>) network.getSentRequestsOfUser(user.getId());
-        return FXCollections.observableArrayList(sentRequests);
+        setProfileData();
     }
 
-    private ObservableList<User> setReceivedRequestsData() {
-        List<User> receivedRequests = (List<User>) network.getReceivedRequestsOfUser(user.getId());
-        return FXCollections.observableArrayList(receivedRequests);
+    // Retrieves the friends and requests of the user at once and updates the data displayed in the tables
+    private void setProfileData() {
+        ProfileSnapshotDTO snapshot = network.getProfileSnapshot(user.getId());
+        friendsData.setAll(snapshot.getFriends());
+        sentRequestsData.setAll(snapshot.getSentRequests());
+        receivedRequestsData.setAll(snapshot.getReceivedRequests());
     }
 
     // Methods for handling friend and request actions
@@ -0,0 +1,409 @@
+package org.example.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded pool of JDBC connections.
+ *
+ * Connections are borrowed per operation and returned to the pool when the borrowed {@link Connection} is closed.
+ * The pool keeps at least {@code minSize} physical connections open, never hands out more than {@code maxSize} at the
+ * same time, validates connections before handing them out, evicts connections that stayed idle for too long and
+ * reports connections that were borrowed for longer than the leak detection threshold.
+ * Each physical connection keeps a {@link StatementCache}, so that statements prepared repeatedly with the same SQL
+ * are parsed and planned only once per connection.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    // Predefined Logger for error reporting across application
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Timeout (in seconds) used when validating a connection before handing it out
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    // Database connection credentials
+    private final String url;
+    private final String user;
+    private final String password;
+
+    // Pool sizing and timing configuration
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    // Statement cache counters, shared by all the connections of the pool
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    // Idle connections, most recently returned first
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+
+    // Connections currently handed out to callers
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+
+    // Limits the number of connections that can be borrowed at the same time
+    private final Semaphore permits;
+
+    // Background task performing idle eviction and leak detection
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a new ConnectionPool and opens {@code minSize} connections.
+     *
+     * @param url the JDBC url of the database
+     * @param user the database user
+     * @param password the database password
+     * @param minSize the minimum number of idle connections kept open
+     * @param maxSize the maximum number of connections that can be borrowed at the same time
+     * @param borrowTimeoutMillis how long a caller waits for a free connection before failing
+     * @param idleTimeoutMillis how long a connection above {@code minSize} may stay idle before it is closed
+     * @param leakThresholdMillis how long a connection may stay borrowed before it is reported as leaked, or
+     *                            {@code 0} to disable leak detection
+     * @param statementCacheSize the number of prepared statements cached per connection, or {@code 0} to disable
+     *                           statement caching
+     * @throws IllegalArgumentException if the sizes are invalid
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid connection pool size: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, 30_000));
+        housekeeper.scheduleAtFixedRate(this::performHousekeeping, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available.
+     * The returned connection must be closed by the caller, which returns it to the pool.
+     *
+     * @return a validated connection to the database
+     * @throws SQLTimeoutException if no connection becomes available within the borrow timeout
+     * @throws SQLException if the pool is closed or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis + "ms waiting for a " +
+                        "database connection (max pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooledConnection = takeValidConnection();
+            pooledConnection.markBorrowed(leakThresholdMillis > 0);
+            borrowedConnections.add(pooledConnection);
+            return pooledConnection.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of idle connections currently held by the pool.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Returns the number of connections currently borrowed from the pool.
+     *
+     * @return the number of borrowed connections
+     */
+    public int getBorrowedCount() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * Returns the maximum number of connections that can be borrowed at the same time.
+     *
+     * @return the maximum pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of statements served from the statement caches of the pool's connections.
+     *
+     * @return the number of statement cache hits
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    /**
+     * Returns the number of statements that had to be prepared because they were not found in the statement caches.
+     *
+     * @return the number of statement cache misses
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * Closes the pool and every idle connection. Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            pooledConnection.closePhysical();
+        }
+    }
+
+    /**
+     * Takes the most recently used idle connection that is still valid, or opens a new one.
+     *
+     * @return a valid pooled connection
+     * @throws SQLException if a new connection cannot be opened
+     */
+    private PooledConnection takeValidConnection() throws SQLException {
+        PooledConnection pooledConnection;
+        while ((pooledConnection = idleConnections.pollFirst()) != null) {
+            if (pooledConnection.isValid()) {
+                return pooledConnection;
+            }
+            pooledConnection.closePhysical();
+        }
+        return new PooledConnection(DriverManager.getConnection(url, user, password));
+    }
+
+    /**
+     * Returns a borrowed connection to the pool, resetting its state.
+     * Broken connections, or connections returned after the pool was closed, are discarded.
+     *
+     * @param pooledConnection the connection being returned
+     */
+    private void release(PooledConnection pooledConnection) {
+        borrowedConnections.remove(pooledConnection);
+        try {
+            if (closed || !pooledConnection.reset()) {
+                pooledConnection.closePhysical();
+            } else {
+                idleConnections.offerFirst(pooledConnection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Opens new idle connections until the pool holds at least {@code minSize} connections.
+     */
+    private void fillToMinimum() {
+        while (!closed && idleConnections.size() + borrowedConnections.size() < minSize) {
+            try {
+                idleConnections.offerLast(new PooledConnection(DriverManager.getConnection(url, user, password)));
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Unable to open database connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes connections idle for longer than the idle timeout (keeping {@code minSize} of them), tops the pool up to
+     * {@code minSize} and reports connections borrowed for longer than the leak detection threshold.
+     */
+    private void performHousekeeping() {
+        long now = System.currentTimeMillis();
+
+        // Least recently used connections are at the end of the deque
+        Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext() && idleConnections.size() > minSize) {
+            PooledConnection pooledConnection = iterator.next();
+            if (now - pooledConnection.lastUsedAt >= idleTimeoutMillis && idleConnections.remove(pooledConnection)) {
+                pooledConnection.closePhysical();
+            }
+        }
+
+        fillToMinimum();
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pooledConnection : borrowedConnections) {
+                if (!pooledConnection.leakReported && now - pooledConnection.borrowedAt >= leakThresholdMillis) {
+                    pooledConnection.leakReported = true;
+                    LOGGER.log(Level.WARNING, "Database connection borrowed " + (now - pooledConnection.borrowedAt) +
+                            "ms ago has not been returned to the pool", pooledConnection.borrowTrace);
+                }
+            }
+        }
+    }
+
+    /**
+     * A physical connection managed by the pool.
+     * Every borrow hands out a new proxy handle, so that a handle closed by its caller cannot be used again.
+     */
+    private final class PooledConnection {
+
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(connection, statementCacheSize, statementCacheHits, statementCacheMisses)
+                    : null;
+        }
+
+        private void markBorrowed(boolean captureTrace) {
+            borrowedAt = System.currentTimeMillis();
+            borrowTrace = captureTrace ? new Throwable("Connection borrowed here") : null;
+            leakReported = false;
+        }
+
+        private boolean isValid() {
+            try {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Rolls back any unfinished transaction and restores the default connection state.
+         *
+         * @return {@code true} if the connection can be reused, {@code false} otherwise
+         */
+        private boolean reset() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                lastUsedAt = System.currentTimeMillis();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error while closing database connection", e);
+            }
+        }
+
+        private Connection newHandle() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean released = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!released) {
+                                released = true;
+                                release(PooledConnection.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return released || connection.isClosed();
+                        case "prepareStatement":
+                            if (!released && statementCache != null && isCacheable(args)) {
+                                int autoGeneratedKeys = args.length == 2 ? (int) args[1] : Statement.NO_GENERATED_KEYS;
+                                return statementCache.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+                            }
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "PooledConnection[" + connection + "]";
+                    }
+
+                    if (released) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+        }
+
+        /**
+         * Checks whether a {@code prepareStatement} call can be served from the statement cache, which holds
+         * statements prepared with {@code prepareStatement(String)} and {@code prepareStatement(String, int)}.
+         *
+         * @param args the arguments of the call
+         * @return {@code true} if the statement can be cached, {@code false} otherwise
+         */
+        private boolean isCacheable(Object[] args) {
+            return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+        }
+    }
+}
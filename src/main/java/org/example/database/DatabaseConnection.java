@@ -1,21 +1,24 @@
 package org.example.database;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import org.example.database.migration.MigrationRunner;
+import org.example.utils.Config;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Class responsible for managing database connection.
- * This class provides a way to obtain a single instance of database connection across application for common usage.
+ * Class responsible for managing database connections.
+ * This class provides a single {@link ConnectionPool} across application for common usage, from which connections are
+ * borrowed per operation, and applies the pending schema migrations when the pool is created.
  */
 public class DatabaseConnection {
 
     // Singleton instance of databse connection
     private static DatabaseConnection instance;
 
-    // Actual database connection object
-    private Connection connection;
+    // Pool of connections shared across application
+    private final ConnectionPool pool;
 
     // Load environment variables
     private static final Dotenv dotenv = Dotenv.load();
@@ -30,11 +33,20 @@ public class DatabaseConnection {
      * This constructor prevents instantiation from outside of class.
      */
     private DatabaseConnection() {
+        pool = new ConnectionPool(URL, USER, PASSWORD,
+                getInt("DB_POOL_MIN_SIZE", Config.DEFAULT_POOL_MIN_SIZE),
+                getInt("DB_POOL_MAX_SIZE", Config.DEFAULT_POOL_MAX_SIZE),
+                getLong("DB_POOL_BORROW_TIMEOUT_MS", Config.DEFAULT_POOL_BORROW_TIMEOUT),
+                getLong("DB_POOL_IDLE_TIMEOUT_MS", Config.DEFAULT_POOL_IDLE_TIMEOUT),
+                getLong("DB_POOL_LEAK_THRESHOLD_MS", Config.DEFAULT_POOL_LEAK_THRESHOLD),
+                getInt("DB_STATEMENT_CACHE_SIZE", Config.DEFAULT_STATEMENT_CACHE_SIZE));
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+
+        // Bring the schema up to date before any repository uses it
         try {
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            new MigrationRunner(pool).migrate();
         } catch (SQLException e) {
-            System.out.println("[ERROR] Database connection failed. " + e.getMessage());
-            System.exit(0);
+            throw new RuntimeException("Could not migrate the database schema", e);
         }
     }
 
@@ -44,7 +56,7 @@ public class DatabaseConnection {
      *
      * @return the singleton instance of DatabaseConnection
      */
-    public static DatabaseConnection getInstance() {
+    public static synchronized DatabaseConnection getInstance() {
         if (instance == null) {
             instance = new DatabaseConnection();
         }
@@ -52,11 +64,49 @@ public class DatabaseConnection {
     }
 
     /**
-     * Returns the established connection to the database.
+     * Borrows a connection to the database from the pool.
+     * The connection must be closed once the operation is done, which returns it to the pool. While a
+     * {@link UnitOfWork} is active on the current thread, its transaction's connection is returned instead, and closing
+     * it has no effect.
+     *
+     * @return a connection to the database
+     * @throws SQLException if no connection is available or a new connection cannot be established
+     */
+    public Connection getConnection() throws SQLException {
+        Connection connection = UnitOfWork.currentConnection(pool);
+        return connection != null ? connection : pool.borrow();
+    }
+
+    /**
+     * Returns the connection pool shared across application.
+     *
+     * @return the connection pool
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Reads an integer setting from the environment variables, falling back to a default value.
+     *
+     * @param key the name of the environment variable
+     * @param defaultValue the value used when the variable is not set
+     * @return the configured value
+     */
+    private static int getInt(String key, int defaultValue) {
+        String value = dotenv.get(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * Reads a long setting from the environment variables, falling back to a default value.
      *
-     * @return the database connection
+     * @param key the name of the environment variable
+     * @param defaultValue the value used when the variable is not set
+     * @return the configured value
      */
-    public Connection getConnection() {
-        return connection;
+    private static long getLong(String key, long defaultValue) {
+        String value = dotenv.get(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
     }
 }
@@ -0,0 +1,200 @@
+package org.example.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Least recently used cache of prepared statements for a single physical connection, keyed by SQL text.
+ *
+ * Closing a statement obtained from the cache does not close it, but clears its parameters, batch and warnings,
+ * restores its fetch size and makes it available for the next caller preparing the same SQL on the same connection.
+ * If the cached statement is still in use when the same SQL is prepared again, an uncached statement is handed out
+ * instead.
+ */
+class StatementCache {
+
+    // Predefined Logger for error reporting across application
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    // The physical connection the statements belong to
+    private final Connection connection;
+
+    // Maximum number of statements kept open
+    private final int maxSize;
+
+    // Counters shared by all the caches of a pool
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    // Cached statements, least recently used first
+    private final Map<Key, CachedStatement> statements;
+
+    /**
+     * Constructs a new StatementCache for the specified physical connection.
+     *
+     * @param connection the physical connection used to prepare statements
+     * @param maxSize the maximum number of statements kept open
+     * @param hits the counter incremented whenever a statement is served from the cache
+     * @param misses the counter incremented whenever a statement has to be prepared
+     */
+    StatementCache(Connection connection, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the specified SQL, reusing a cached one when available.
+     *
+     * @param owner the connection handle the statement is handed out through
+     * @param sql the SQL text of the statement
+     * @param autoGeneratedKeys whether generated keys should be made available, as in
+     *                          {@link Connection#prepareStatement(String, int)}
+     * @return a prepared statement whose {@code close} returns it to the cache
+     * @throws SQLException if the statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+        } else if (cached != null) {
+            // The same SQL is already in use on this connection, so hand out a statement of its own
+            misses.incrementAndGet();
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        } else {
+            misses.incrementAndGet();
+            cached = new CachedStatement(connection.prepareStatement(sql, autoGeneratedKeys));
+            statements.put(key, cached);
+        }
+
+        cached.inUse = true;
+        return cached.newHandle(owner);
+    }
+
+    /**
+     * Returns a statement to the cache once its caller closed it.
+     *
+     * @param cached the statement being returned
+     */
+    private synchronized void release(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            cached.closePhysical();
+            return;
+        }
+
+        try {
+            cached.statement.clearParameters();
+            cached.statement.clearBatch();
+            cached.statement.clearWarnings();
+            cached.statement.setFetchSize(cached.defaultFetchSize);
+        } catch (SQLException e) {
+            statements.values().remove(cached);
+            cached.closePhysical();
+        }
+    }
+
+    /**
+     * Key identifying a cached statement.
+     */
+    private record Key(String sql, int autoGeneratedKeys) {
+
+        private Key {
+            Objects.requireNonNull(sql);
+        }
+    }
+
+    /**
+     * A physical prepared statement held by the cache.
+     */
+    private final class CachedStatement {
+
+        private final PreparedStatement statement;
+        private final int defaultFetchSize;
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        private CachedStatement(PreparedStatement statement) throws SQLException {
+            this.statement = statement;
+            this.defaultFetchSize = statement.getFetchSize();
+        }
+
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closePhysical();
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Error while closing cached statement", e);
+            }
+        }
+
+        private PreparedStatement newHandle(Connection owner) {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean released = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!released) {
+                                released = true;
+                                release(CachedStatement.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return released || statement.isClosed();
+                        case "getConnection":
+                            return owner;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "CachedStatement[" + statement + "]";
+                        default:
+                            if (released) {
+                                throw new SQLException("Statement has already been closed");
+                            }
+                            try {
+                                return method.invoke(statement, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                }
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, handler);
+        }
+    }
+}
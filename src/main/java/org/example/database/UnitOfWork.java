@@ -0,0 +1,255 @@
+package org.example.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A database transaction spanning all the repository operations executed by the current thread within its scope.
+ *
+ * While a unit of work is active, {@link DatabaseConnection#getConnection()} hands out the same connection to every
+ * repository, with auto-commit disabled. The transaction is committed once when the outermost scope completes and is
+ * rolled back if it throws; nested scopes join the enclosing unit of work. Actions registered through
+ * {@link #afterCommit(Runnable)} run only once the transaction has been committed.
+ *
+ * The connection is borrowed from the pool on first use, so a unit of work that never reaches the database costs
+ * nothing.
+ *
+ * Statements are not queued: every repository operation executes right away on the shared connection, so that it
+ * sees the changes made before it and reports its own outcome, such as a unique constraint violation, to its caller.
+ * The unit of work saves the commit of every statement, not their round trips; many changes of the same kind are
+ * batched by {@code saveAll}, {@code updateAll} and {@code deleteAll}, or made by a single set-based statement.
+ */
+public final class UnitOfWork {
+
+    // Predefined Logger for error reporting across application
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    // The unit of work active on each thread, if any
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    // The connection borrowed from the pool, or null until the first repository operation
+    private Connection connection;
+
+    // View of the connection handed out to repositories, which cannot close it
+    private Connection sharedConnection;
+
+    // Actions to run once the transaction has been committed
+    private final List<Runnable> afterCommitActions = new ArrayList<>();
+
+    /**
+     * Constructs a new UnitOfWork.
+     * This constructor prevents instantiation from outside of class.
+     */
+    private UnitOfWork() {
+    }
+
+    /**
+     * Work executed within a unit of work.
+     *
+     * @param <T> the type of the result of the work
+     * @param <X> the type of the exception thrown by the work
+     */
+    @FunctionalInterface
+    public interface Work<T, X extends Throwable> {
+        T execute() throws X;
+    }
+
+    /**
+     * Work without result executed within a unit of work.
+     *
+     * @param <X> the type of the exception thrown by the work
+     */
+    @FunctionalInterface
+    public interface VoidWork<X extends Throwable> {
+        void execute() throws X;
+    }
+
+    /**
+     * Executes the specified work in a unit of work, joining the unit of work of the current thread if there is one.
+     *
+     * @param work the work to be executed
+     * @return the result of the work
+     * @param <T> the type of the result of the work
+     * @param <X> the type of the exception thrown by the work
+     * @throws X if the work fails, in which case the transaction is rolled back
+     * @throws RuntimeException if the transaction cannot be committed
+     */
+    public static <T, X extends Throwable> T execute(Work<T, X> work) throws X {
+        if (CURRENT.get() != null) {
+            return work.execute();
+        }
+
+        UnitOfWork unitOfWork = new UnitOfWork();
+        CURRENT.set(unitOfWork);
+        T result;
+        try {
+            result = work.execute();
+            unitOfWork.commit();
+        } catch (Throwable e) {
+            unitOfWork.rollback();
+            throw e;
+        } finally {
+            CURRENT.remove();
+            unitOfWork.release();
+        }
+
+        unitOfWork.afterCommitActions.forEach(Runnable::run);
+        return result;
+    }
+
+    /**
+     * Executes the specified work in a unit of work, joining the unit of work of the current thread if there is one.
+     *
+     * @param work the work to be executed
+     * @param <X> the type of the exception thrown by the work
+     * @throws X if the work fails, in which case the transaction is rolled back
+     * @throws RuntimeException if the transaction cannot be committed
+     */
+    public static <X extends Throwable> void run(VoidWork<X> work) throws X {
+        execute(() -> {
+            work.execute();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the specified action once the unit of work of the current thread has been committed, or right away if no
+     * unit of work is active. The action is discarded if the transaction is rolled back.
+     *
+     * @param action the action to be run
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork unitOfWork = CURRENT.get();
+        if (unitOfWork == null) {
+            action.run();
+        } else {
+            unitOfWork.afterCommitActions.add(action);
+        }
+    }
+
+    /**
+     * Checks whether a unit of work is active on the current thread.
+     *
+     * @return {@code true} if a unit of work is active, otherwise {@code false}
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the connection of the unit of work active on the current thread, borrowing it on first use.
+     *
+     * @param pool the pool to borrow the connection from
+     * @return the connection of the unit of work, or {@code null} if no unit of work is active
+     * @throws SQLException if no connection can be borrowed
+     */
+    static Connection currentConnection(ConnectionPool pool) throws SQLException {
+        UnitOfWork unitOfWork = CURRENT.get();
+        return unitOfWork == null ? null : unitOfWork.getConnection(pool);
+    }
+
+    /**
+     * Returns the connection of this unit of work, borrowing it and starting the transaction on first use.
+     *
+     * @param pool the pool to borrow the connection from
+     * @return a view of the connection which is not closed by repositories
+     * @throws SQLException if no connection can be borrowed
+     */
+    private Connection getConnection(ConnectionPool pool) throws SQLException {
+        if (connection == null) {
+            Connection borrowedConnection = pool.borrow();
+            try {
+                borrowedConnection.setAutoCommit(false);
+            } catch (SQLException e) {
+                borrowedConnection.close();
+                throw e;
+            }
+            connection = borrowedConnection;
+            sharedConnection = newSharedHandle(borrowedConnection);
+        }
+        return sharedConnection;
+    }
+
+    /**
+     * Commits the transaction, if the unit of work reached the database.
+     */
+    private void commit() {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Rolls the transaction back, if the unit of work reached the database.
+     */
+    private void rollback() {
+        afterCommitActions.clear();
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error while rolling back unit of work", e);
+        }
+    }
+
+    /**
+     * Returns the connection of the unit of work to the pool.
+     */
+    private void release() {
+        if (connection == null) {
+            return;
+        }
+
+        try (Connection borrowedConnection = connection) {
+            borrowedConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error while releasing unit of work connection", e);
+        }
+    }
+
+    /**
+     * Creates a view of the connection whose {@code close} does nothing, so that repositories can keep closing the
+     * connections they obtain while the unit of work keeps using it.
+     *
+     * @param connection the connection of the unit of work
+     * @return the shared view of the connection
+     */
+    private static Connection newSharedHandle(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWorkConnection[" + connection + "]";
+                default:
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
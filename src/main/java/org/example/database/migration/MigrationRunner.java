@@ -0,0 +1,171 @@
+package org.example.database.migration;
+
+import org.example.database.ConnectionPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class responsible for bringing the database schema up to date.
+ *
+ * Migrations are SQL scripts on the classpath under {@code db/migration}, named {@code V<version>__<description>.sql}
+ * and listed in {@link #MIGRATIONS} in the order they must be applied. Every migration is applied at most once, in its
+ * own transaction, and recorded in the {@code schema_version} table.
+ */
+public class MigrationRunner {
+
+    // Predefined Logger for error reporting across application
+    private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+
+    // Classpath location of the migration scripts
+    private static final String LOCATION = "db/migration/";
+
+    // Migration scripts, in the order they are applied
+    private static final List<String> MIGRATIONS = List.of(
+            "V1__create_tables.sql",
+            "V2__create_indexes.sql",
+            "V3__create_search_indexes.sql",
+            "V4__create_message_receiver_index.sql",
+            "V5__canonical_friendship_pairs.sql",
+            "V6__create_notification_counters.sql");
+
+    // Extracts the version and the description from the name of a migration script
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // The pool providing the connections the migrations are applied on
+    private final ConnectionPool pool;
+
+    /**
+     * Constructs a new MigrationRunner applying migrations on connections from the specified pool.
+     *
+     * @param pool the pool providing the connections the migrations are applied on
+     */
+    public MigrationRunner(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Applies, in order, all the migrations that were not applied yet.
+     *
+     * @return the number of applied migrations
+     * @throws SQLException if a migration cannot be applied, in which case it is rolled back and the following ones
+     *         are not applied
+     */
+    public int migrate() throws SQLException {
+        int appliedMigrations = 0;
+
+        try (Connection connection = pool.borrow()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INTEGER PRIMARY KEY, " +
+                        "description VARCHAR(255) NOT NULL, " +
+                        "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            }
+
+            for (String migration : MIGRATIONS) {
+                if (apply(connection, migration)) {
+                    appliedMigrations++;
+                }
+            }
+        }
+
+        return appliedMigrations;
+    }
+
+    /**
+     * Applies a single migration, unless it was already applied.
+     * The version table is locked for the duration of the transaction, so that concurrently starting applications
+     * do not apply the same migration twice.
+     *
+     * @param connection the connection the migration is applied on
+     * @param migration the name of the migration script
+     * @return {@code true} if the migration was applied, or {@code false} if it was already applied before
+     * @throws SQLException if the migration cannot be applied
+     */
+    private boolean apply(Connection connection, String migration) throws SQLException {
+        Matcher matcher = MIGRATION_NAME.matcher(migration);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration name " + migration);
+        }
+        int version = Integer.parseInt(matcher.group(1));
+        String description = matcher.group(2).replace('_', ' ');
+
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLE schema_version IN EXCLUSIVE MODE");
+            }
+
+            if (isApplied(connection, version)) {
+                connection.rollback();
+                return false;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(readScript(migration));
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                statement.setInt(1, version);
+                statement.setString(2, description);
+                statement.executeUpdate();
+            }
+
+            connection.commit();
+            LOGGER.info("Applied database migration " + migration);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Checks whether a migration version was already applied.
+     *
+     * @param connection the connection used to query the version table
+     * @param version the version of the migration
+     * @return {@code true} if the version is recorded in the version table, otherwise {@code false}
+     * @throws SQLException if a database access error occurs
+     */
+    private boolean isApplied(Connection connection, int version) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM schema_version WHERE version = ?")) {
+            statement.setInt(1, version);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Reads the content of a migration script from the classpath.
+     *
+     * @param migration the name of the migration script
+     * @return the SQL statements of the script
+     * @throws IllegalStateException if the script cannot be found or read
+     */
+    private String readScript(String migration) {
+        try (InputStream input = MigrationRunner.class.getClassLoader().getResourceAsStream(LOCATION + migration)) {
+            if (input == null) {
+                throw new IllegalStateException("Migration script " + migration + " not found");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read migration script " + migration, e);
+        }
+    }
+}
@@ -6,8 +6,6 @@ import org.example.service.Network;
 import org.example.utils.PasswordUtils;
 
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.StreamSupport;
 
 /**
  * The AuthService class provides methods for user authentication.
@@ -18,7 +16,7 @@ public class Auth {
 
     /**
      * Logs in a user by checking the provided email and password.
-     * It compares the email and hashed password with the existing users in the network.
+     * It looks the user up by email and compares the hashed password with the password of that single user.
      *
      * @param email the email address of the user attempting to log in
      * @param password the plaintext password provided by the user
@@ -29,12 +27,9 @@ public class Auth {
 
         String hashedPassword = PasswordUtils.hashPassword(password);
 
-        Optional<User> user = StreamSupport
-                .stream(network.getAllUsers().spliterator(), false)
-                .filter(u -> Objects.equals(u.getEmail(), email) && Objects.equals(u.getPassword(), hashedPassword))
-                .findFirst();
-
-        return user.orElse(null);
+        return network.findUserByEmail(email)
+                .filter(u -> Objects.equals(u.getPassword(), hashedPassword))
+                .orElse(null);
     }
 
     /**
@@ -46,11 +41,6 @@ public class Auth {
     public static User signup(String email) {
         Network network = GlobalNetwork.getNetwork();
 
-        Optional<User> user = StreamSupport
-                .stream(network.getAllUsers().spliterator(), false)
-                .filter(u -> Objects.equals(u.getEmail(), email))
-                .findFirst();
-
-        return user.orElse(null);
+        return network.findUserByEmail(email).orElse(null);
     }
 }
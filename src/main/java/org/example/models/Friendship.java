@@ -15,7 +15,8 @@ import java.util.Objects;
  * and a request pending state.
  *
  * The {@code Friendship} extends the {@code Entity} base class, using {@code Tuple<String>} as the type of its
- * identifier.
+ * identifier. The identifier is the canonical key of the pair of users returned by {@link #key(String, String)}, so
+ * that a friendship is found by the same key whichever of its users sent the request.
  */
 public class Friendship extends Entity<Tuple<String>> {
 
@@ -32,13 +33,28 @@ public class Friendship extends Entity<Tuple<String>> {
      * @param uid2 the identifier of the receiver user
      */
     public Friendship(String uid1, String uid2) {
-        setId(new Tuple<>(uid1, uid2));
+        setId(key(uid1, uid2));
         this.uid1 = new SimpleStringProperty(uid1);
         this.uid2 = new SimpleStringProperty(uid2);
         this.date = new SimpleObjectProperty<>(LocalDateTime.now());
         this.pending = new SimpleBooleanProperty(true);
     }
 
+    /**
+     * Returns the canonical key of the friendship between two users, which does not depend on which of them sent the
+     * request: the smaller identifier always comes first.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return the key of the friendship between the two users
+     */
+    public static Tuple<String> key(String uid1, String uid2) {
+        if (uid1 != null && uid2 != null && uid1.compareTo(uid2) > 0) {
+            return new Tuple<>(uid2, uid1);
+        }
+        return new Tuple<>(uid1, uid2);
+    }
+
     /**
      * Returns the sender's ID property.
      *
@@ -58,12 +74,13 @@ public class Friendship extends Entity<Tuple<String>> {
     }
 
     /**
-     * Sets the sender's ID.
+     * Sets the sender's ID, updating the key of the friendship.
      *
      * @param senderId the new sender ID
      */
     public void setSenderId(String senderId) {
         this.uid1.set(senderId);
+        setId(key(uid1.get(), uid2.get()));
     }
 
     /**
@@ -85,12 +102,13 @@ public class Friendship extends Entity<Tuple<String>> {
     }
 
     /**
-     * Sets the receiver's ID.
+     * Sets the receiver's ID, updating the key of the friendship.
      *
      * @param receiverId the new receiver ID
      */
     public void setReceiverId(String receiverId) {
         this.uid2.set(receiverId);
+        setId(key(uid1.get(), uid2.get()));
     }
 
     /**
@@ -0,0 +1,34 @@
+package org.example.models;
+
+import java.util.Objects;
+
+/**
+ * Represents the state of a {@link Friendship} from the point of view of one of its users.
+ */
+public enum FriendshipStatus {
+
+    // The request was accepted, so the users are friends
+    ACCEPTED,
+
+    // The user sent the request, which is still pending
+    SENT,
+
+    // The user received the request, which is still pending
+    RECEIVED;
+
+    /**
+     * Checks whether the friendship has this status from the point of view of the specified user.
+     *
+     * @param friendship the friendship to check
+     * @param uid the identifier of the user
+     * @return {@code true} if the user is part of the friendship and the friendship has this status, otherwise
+     *         {@code false}
+     */
+    public boolean matches(Friendship friendship, String uid) {
+        return switch (this) {
+            case ACCEPTED -> friendship.containsUser(uid) && !friendship.isPending();
+            case SENT -> Objects.equals(friendship.getSenderId(), uid) && friendship.isPending();
+            case RECEIVED -> Objects.equals(friendship.getReceiverId(), uid) && friendship.isPending();
+        };
+    }
+}
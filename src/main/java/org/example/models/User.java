@@ -143,6 +143,17 @@ public class User extends Entity<String> {
         return email.get();
     }
 
+    /**
+     * Returns a copy of the user, with the same ID and fields, which can be changed independently of this user.
+     *
+     * @return a copy of the user
+     */
+    public User copy() {
+        User user = new User(firstName.get(), lastName.get(), password.get(), email.get());
+        user.setId(id);
+        return user;
+    }
+
     /**
      * Returns a string representation of the user.
      * The string contains the ID, class name, first name, last name, password (hashed), and the email address of the
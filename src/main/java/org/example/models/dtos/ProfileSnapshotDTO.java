@@ -0,0 +1,61 @@
+package org.example.models.dtos;
+
+import org.example.models.User;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding the relationships of a user displayed on their profile.
+ * This class groups the friends of the user together with the friend requests they sent and received.
+ */
+public class ProfileSnapshotDTO {
+
+    // Users the user is friends with
+    private final List<User> friends;
+
+    // Users the user sent a pending friend request to
+    private final List<User> sentRequests;
+
+    // Users the user received a pending friend request from
+    private final List<User> receivedRequests;
+
+    /**
+     * Constructs a new ProfileSnapshotDTO.
+     *
+     * @param friends the users the user is friends with
+     * @param sentRequests the users the user sent a pending friend request to
+     * @param receivedRequests the users the user received a pending friend request from
+     */
+    public ProfileSnapshotDTO(List<User> friends, List<User> sentRequests, List<User> receivedRequests) {
+        this.friends = friends;
+        this.sentRequests = sentRequests;
+        this.receivedRequests = receivedRequests;
+    }
+
+    /**
+     * Gets the users the user is friends with.
+     *
+     * @return the friends of the user
+     */
+    public List<User> getFriends() {
+        return friends;
+    }
+
+    /**
+     * Gets the users the user sent a pending friend request to.
+     *
+     * @return the receivers of the requests sent by the user
+     */
+    public List<User> getSentRequests() {
+        return sentRequests;
+    }
+
+    /**
+     * Gets the users the user received a pending friend request from.
+     *
+     * @return the senders of the requests received by the user
+     */
+    public List<User> getReceivedRequests() {
+        return receivedRequests;
+    }
+}
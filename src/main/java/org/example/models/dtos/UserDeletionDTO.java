@@ -0,0 +1,73 @@
+package org.example.models.dtos;
+
+import org.example.models.User;
+
+/**
+ * Data Transfer Object (DTO) describing the outcome of deleting a user together with all of their data.
+ * This class is passed to observers once the deletion has been committed.
+ */
+public class UserDeletionDTO {
+
+    // The deleted user
+    private final User user;
+
+    // Number of friendships and friend requests deleted together with the user
+    private final int deletedFriendships;
+
+    // Number of messages sent or received by the user that were deleted
+    private final int deletedMessages;
+
+    // Number of notifications of the user that were deleted
+    private final int deletedNotifications;
+
+    /**
+     * Constructs a new UserDeletionDTO.
+     *
+     * @param user the deleted user
+     * @param deletedFriendships the number of deleted friendships
+     * @param deletedMessages the number of deleted messages
+     * @param deletedNotifications the number of deleted notifications
+     */
+    public UserDeletionDTO(User user, int deletedFriendships, int deletedMessages, int deletedNotifications) {
+        this.user = user;
+        this.deletedFriendships = deletedFriendships;
+        this.deletedMessages = deletedMessages;
+        this.deletedNotifications = deletedNotifications;
+    }
+
+    /**
+     * Gets the deleted user.
+     *
+     * @return the deleted user
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Gets the number of friendships and friend requests deleted together with the user.
+     *
+     * @return the number of deleted friendships
+     */
+    public int getDeletedFriendships() {
+        return deletedFriendships;
+    }
+
+    /**
+     * Gets the number of messages sent or received by the user that were deleted.
+     *
+     * @return the number of deleted messages
+     */
+    public int getDeletedMessages() {
+        return deletedMessages;
+    }
+
+    /**
+     * Gets the number of notifications of the user that were deleted.
+     *
+     * @return the number of deleted notifications
+     */
+    public int getDeletedNotifications() {
+        return deletedNotifications;
+    }
+}
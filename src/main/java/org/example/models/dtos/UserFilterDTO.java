@@ -1,6 +1,7 @@
 package org.example.models.dtos;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Data Transfer Object (DTO) for filtering users based on specific criteria.
@@ -72,4 +73,14 @@ public class UserFilterDTO {
     public void setEmail(Optional<String> email) {
         this.email = email;
     }
+
+    /**
+     * Checks whether no filter criteria is set, ignoring blank filters.
+     *
+     * @return {@code true} if none of the filters contains text, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return Stream.of(firstName, lastName, email)
+                .allMatch(filter -> filter.filter(text -> !text.isBlank()).isEmpty());
+    }
 }
@@ -6,8 +6,6 @@ import org.example.models.User;
 import org.jetbrains.annotations.NotNull;
 import org.example.repository.Repository;
 
-import java.util.Optional;
-
 /**
  * Validator responsible for validating {@link Friendship} entities.
  * This class implement the Validator interface for the Friendship type.
@@ -40,20 +38,16 @@ public class FriendshipValidator implements Validator<Friendship> {
      */
     @Override
     public void validate(@NotNull Friendship friendship) throws ValidationException {
-        // Retrieve sender and receiver from the user repository
-        Optional<User> sender = userRepository.findOne(friendship.getSenderId());
-        Optional<User> receiver = userRepository.findOne(friendship.getReceiverId());
-
-        // Check if either the sender or receiver does not exist in the network
-        if (sender.isEmpty() || receiver.isEmpty()) {
-            throw new ValidationException("Sender or Receiver does not exist in the system");
-        }
-
         // Check if neither the sender nor receiver identifier is null
         if (friendship.getSenderId() == null || friendship.getReceiverId() == null) {
             throw new ValidationException("Sender or Receiver id must not be null");
         }
 
+        // Check if either the sender or receiver does not exist in the network
+        if (!userRepository.exists(friendship.getSenderId()) || !userRepository.exists(friendship.getReceiverId())) {
+            throw new ValidationException("Sender or Receiver does not exist in the system");
+        }
+
         // Check if sender and receiver are the same user in the network
         if (friendship.getSenderId().equals(friendship.getReceiverId())) {
             throw new ValidationException("Sender and Receiver must not be the same");
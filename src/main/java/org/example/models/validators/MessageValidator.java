@@ -5,8 +5,6 @@ import org.example.models.Message;
 import org.example.models.User;
 import org.example.repository.Repository;
 
-import java.util.Optional;
-
 /**
  * Validator responsible for validating {@link Message} entities.
  * This class implement the Validator interface for the Message type.
@@ -46,20 +44,16 @@ public class MessageValidator implements Validator<Message> {
             throw new ValidationException("Message must not be null");
         }
 
-        // Retrieve sender and receiver from the user repository
-        Optional<User> sender = userRepository.findOne(message.getSenderId());
-        Optional<User> receiver = userRepository.findOne(message.getReceiverId());
-
-        // Check if either the sender or receiver does not exist in the network
-        if (sender.isEmpty() || receiver.isEmpty()) {
-            throw new ValidationException("Sender or Receiver does not exist in the system");
-        }
-
         // Check if neither the sender nor receiver identifier is null
         if (message.getSenderId() == null || message.getReceiverId() == null) {
             throw new ValidationException("Sender or Receiver id must not be null");
         }
 
+        // Check if either the sender or receiver does not exist in the network
+        if (!userRepository.exists(message.getSenderId()) || !userRepository.exists(message.getReceiverId())) {
+            throw new ValidationException("Sender or Receiver does not exist in the system");
+        }
+
         // Check if sender and receiver are the same user in the network
         if (message.getSenderId().equals(message.getReceiverId())) {
             throw new ValidationException("Sender and Receiver must not be the same");
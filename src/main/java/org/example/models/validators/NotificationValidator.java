@@ -5,8 +5,6 @@ import org.example.models.Notification;
 import org.example.models.User;
 import org.example.repository.Repository;
 
-import java.util.Optional;
-
 /**
  * Validator responsible for validating {@link Notification} entities.
  * This class implement the Validator interface for the Notification type.
@@ -45,11 +43,8 @@ public class NotificationValidator implements Validator<Notification> {
             throw new ValidationException("Notification must not be null");
         }
 
-        // Retrieve user from the user repository
-        Optional<User> user = userRepository.findOne(notification.getUserId());
-
         // Check if the user does not exist in the network
-        if (user.isEmpty()) {
+        if (!userRepository.exists(notification.getUserId())) {
             throw new ValidationException("User does not exist in the system");
         }
 
@@ -0,0 +1,67 @@
+package org.example.repository;
+
+import org.example.models.Friendship;
+import org.example.models.FriendshipStatus;
+import org.example.models.Tuple;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A repository for managing {@link Friendship} entities, providing lookups of the friendships of a single user.
+ * Friendships are identified by the canonical key of their pair of users ({@link Friendship#key}), so there is at most
+ * one friendship between any two users.
+ */
+public interface FriendshipRepository extends Repository<Tuple<String>, Friendship> {
+
+    /**
+     * Finds all the friendships of a user, accepted or pending, in the order they were requested.
+     *
+     * @param uid the identifier of the user
+     * @return an iterable collection of the friendships of the user
+     */
+    Iterable<Friendship> findByUser(String uid);
+
+    /**
+     * Finds the friendships of a user having the specified status from the point of view of that user.
+     *
+     * @param uid the identifier of the user
+     * @param status the status of the friendships to be retrieved
+     * @return an iterable collection of the matching friendships
+     */
+    Iterable<Friendship> findByUser(String uid, FriendshipStatus status);
+
+    /**
+     * Finds the friendship between two users, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return an {@link Optional} containing the friendship between the two users, or an empty {@code Optional} if
+     *         there is none
+     */
+    Optional<Friendship> findBetween(String uid1, String uid2);
+
+    /**
+     * Checks whether two users are friends, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return {@code true} if an accepted friendship exists between the two users, otherwise {@code false}
+     */
+    boolean existsAccepted(String uid1, String uid2);
+
+    /**
+     * Retrieves the accepted friendships as a lazily populated stream.
+     *
+     * @return a stream of the accepted friendships, which must be closed to release its resources
+     */
+    Stream<Friendship> streamAccepted();
+
+    /**
+     * Deletes all the friendships of a user, whichever of the two users sent the request.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted friendships
+     */
+    int deleteByUser(String uid);
+}
@@ -0,0 +1,65 @@
+package org.example.repository;
+
+import org.example.models.Message;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A repository for managing {@link Message} entities, providing operations on the messages of a single user.
+ */
+public interface MessageRepository extends Repository<String, Message> {
+
+    /**
+     * Retrieves all messages sent from a user to another, in the order they were sent.
+     *
+     * @param senderId the identifier of the sender
+     * @param receiverId the identifier of the receiver
+     * @return an iterable collection of the sent messages
+     */
+    Iterable<Message> getSent(String senderId, String receiverId);
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, preceding the specified message in the order of
+     * their dates, then of their identifiers.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @param before the date of the message the returned messages precede, or {@code null} to start from the latest
+     *               message
+     * @param beforeId the identifier of the message the returned messages precede, or {@code null} to return only the
+     *                 messages sent before its date
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     */
+    List<Message> findConversation(String uid1, String uid2, LocalDateTime before, String beforeId, int limit);
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, sent at or after the specified date.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @param since the date the returned messages were sent at or after, or {@code null} to start from the first
+     *              message
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     */
+    List<Message> findConversationSince(String uid1, String uid2, LocalDateTime since, int limit);
+
+    /**
+     * Deletes all the messages sent or received by a user.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted messages
+     */
+    int deleteByUser(String uid);
+
+    /**
+     * Deletes all the messages exchanged between two users.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return the number of deleted messages
+     */
+    int deleteConversation(String uid1, String uid2);
+}
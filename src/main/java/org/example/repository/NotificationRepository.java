@@ -0,0 +1,39 @@
+package org.example.repository;
+
+import org.example.models.Notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A repository for managing {@link Notification} entities, providing operations on the notifications of a single user.
+ */
+public interface NotificationRepository extends Repository<String, Notification> {
+
+    /**
+     * Retrieves the most recent notifications of a user.
+     *
+     * @param uid the identifier of the user
+     * @param limit the maximum number of notifications to be retrieved
+     * @param since the date the returned notifications were created after, or {@code null} to retrieve them regardless
+     *              of their date
+     * @return a list of the notifications, most recent first
+     */
+    List<Notification> findByUser(String uid, int limit, LocalDateTime since);
+
+    /**
+     * Counts the unread notifications of a user, which are the notifications not marked as read and removed yet.
+     *
+     * @param uid the identifier of the user
+     * @return the number of unread notifications of the user
+     */
+    int countUnreadByUser(String uid);
+
+    /**
+     * Deletes all the notifications of a user.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted notifications
+     */
+    int deleteByUser(String uid);
+}
@@ -2,7 +2,9 @@ package org.example.repository;
 
 import org.example.models.Entity;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A generic repository interface for managing entities that extend the Entity class.
@@ -24,6 +26,25 @@ public interface Repository<ID, E extends Entity<ID>> {
      */
     Optional<E> findOne(ID id);
 
+    /**
+     * Checks whether an entity with the specified unique identifier exists, without necessarily reading it.
+     *
+     * @param id the unique identifier of the entity
+     * @return {@code true} if an entity with the specified ID exists, otherwise {@code false}
+     */
+    default boolean exists(ID id) {
+        return findOne(id).isPresent();
+    }
+
+    /**
+     * Finds the entities with the specified unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence;
+     *         identifiers with no entity are skipped
+     */
+    Iterable<E> findAllById(Collection<ID> ids);
+
     /**
      * Retrieves all entities managed by the repository.
      *
@@ -31,6 +52,14 @@ public interface Repository<ID, E extends Entity<ID>> {
      */
     Iterable<E> findAll();
 
+    /**
+     * Retrieves all entities managed by the repository as a lazily populated stream.
+     * The stream holds resources until it is closed, so it should be used in a try-with-resources statement.
+     *
+     * @return a stream of all entities in the repository
+     */
+    Stream<E> streamAll();
+
     /**
      * Saves a new entity or updates an existing entity in the repository.
      *
@@ -56,4 +85,42 @@ public interface Repository<ID, E extends Entity<ID>> {
      * @return an {@link Optional} containing the updated entity
      */
     Optional<E> update(E entity);
+
+    /**
+     * Saves multiple new entities in the repository in a single operation.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     */
+    int saveAll(Iterable<E> entities);
+
+    /**
+     * Deletes multiple entities by their unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     */
+    int deleteAll(Iterable<ID> ids);
+
+    /**
+     * Updates multiple existing entities in the repository in a single operation.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     */
+    int updateAll(Iterable<E> entities);
+
+    /**
+     * Returns this repository as the specified repository type, giving access to the operations of specialized
+     * repository interfaces. Repositories wrapping another repository return the wrapped one if they do not implement
+     * the type themselves.
+     *
+     * @param type the repository type to be returned
+     * @return this repository, as the specified type
+     * @param <R> the repository type to be returned
+     * @throws ClassCastException if the repository does not implement the specified type
+     */
+    default <R> R unwrap(Class<R> type) {
+        return type.cast(this);
+    }
 }
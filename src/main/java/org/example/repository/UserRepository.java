@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import org.example.models.User;
+
+import java.util.Optional;
+
+/**
+ * A repository for managing {@link User} entities, providing lookups of users by their unique email address.
+ */
+public interface UserRepository extends Repository<String, User> {
+
+    /**
+     * Finds a user by their email address.
+     *
+     * @param email the email address of the user
+     * @return an {@link Optional} containing the user with the specified email address, or an empty {@code Optional}
+     *         if no user is found
+     */
+    Optional<User> findByEmail(String email);
+}
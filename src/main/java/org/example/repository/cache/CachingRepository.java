@@ -0,0 +1,337 @@
+package org.example.repository.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.Entity;
+import org.example.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Repository decorator caching the entities read by their unique identifier.
+ *
+ * Lookups by identifier are served from a {@link SegmentedLruCache} and read through to the wrapped repository on a
+ * miss. Every write invalidates the affected entities, once right away and once more after the current
+ * {@link UnitOfWork} commits, so that a concurrent lookup cannot cache the value the transaction replaced. Entities
+ * read while a unit of work is active are not cached, since they may not be committed yet. All the other operations
+ * are delegated to the wrapped repository as they are.
+ *
+ * Existence checks are answered from an index of the identifiers known to exist, which is filled as entities are
+ * found, so that checks such as the foreign key validations of dependent entities do not read whole entities. The
+ * index holds {@value #EXISTENCE_INDEX_SIZE_FACTOR} times as many identifiers as the cache holds entities, and its
+ * identifiers expire with the same time to live, so that entities deleted by another application or by a set-based
+ * statement are eventually checked against the wrapped repository again. Identifiers are removed from the index once
+ * their entity is deleted through this repository, while identifiers not found are always checked against the
+ * wrapped repository, since their entities may have been created since.
+ *
+ * Entities are mutable, so the cache keeps copies of the entities it is given and hands out a new copy on every hit;
+ * changing a returned entity never changes the cached one, and only takes effect once it is written back.
+ *
+ * Operations of specialized repository interfaces are reached through {@link #unwrap(Class)}; writes performed through
+ * them bypass the cache, so only entity types changed exclusively through the {@link Repository} operations should be
+ * cached.
+ *
+ * @param <ID> the type of the unique identifier for the entity
+ * @param <E> the type of the entity that extends {@link Entity} and is managed by the repository
+ */
+public class CachingRepository<ID, E extends Entity<ID>> implements Repository<ID, E> {
+
+    // Number of identifiers kept in the existence index for every entity kept in the cache
+    private static final int EXISTENCE_INDEX_SIZE_FACTOR = 8;
+
+    // The repository the entities are read from and written to
+    private final Repository<ID, E> delegate;
+
+    // The cached entities, by their unique identifier
+    private final SegmentedLruCache<ID, E> cache;
+
+    // Identifiers of the entities known to exist
+    private final SegmentedLruCache<ID, Boolean> existingIds;
+
+    // Copies entities going into and out of the cache
+    private final UnaryOperator<E> copier;
+
+    /**
+     * Constructs a new CachingRepository.
+     *
+     * @param delegate the repository the entities are read from and written to
+     * @param maxSize the maximum number of entities kept in the cache
+     * @param timeToLive the time (in milliseconds) after which a cached entity is read again and a known identifier is
+     *                   checked again, or 0 if they never expire
+     * @param copier returns an independent copy of an entity
+     */
+    public CachingRepository(Repository<ID, E> delegate, int maxSize, long timeToLive, UnaryOperator<E> copier) {
+        this.delegate = delegate;
+        this.cache = new SegmentedLruCache<>(maxSize, timeToLive);
+        this.existingIds = new SegmentedLruCache<>(
+                (int) Math.min(Integer.MAX_VALUE, (long) maxSize * EXISTENCE_INDEX_SIZE_FACTOR), timeToLive);
+        this.copier = copier;
+    }
+
+    /**
+     * Finds an entity by its unique identifier, serving it from the cache when possible.
+     *
+     * @param id the unique identifier of the entity to be retrieved
+     * @return an {@link Optional} containing the entity with the specified ID, or an empty {@code Optional} if no
+     *         entity is found
+     */
+    @Override
+    public Optional<E> findOne(ID id) {
+        Optional<E> cached = cache.get(id);
+        if (cached.isPresent()) {
+            return cached.map(copier);
+        }
+
+        Optional<E> entity = delegate.findOne(id);
+        entity.ifPresent(this::cache);
+        return entity;
+    }
+
+    /**
+     * Checks whether an entity with the specified unique identifier exists, answering from the existence index or
+     * the cache when possible.
+     *
+     * @param id the unique identifier of the entity
+     * @return {@code true} if an entity with the specified ID exists, otherwise {@code false}
+     */
+    @Override
+    public boolean exists(ID id) {
+        if (id == null) {
+            return delegate.exists(null);
+        }
+        if (existingIds.get(id).isPresent()) {
+            return true;
+        }
+
+        boolean exists = delegate.exists(id);
+        if (exists && !UnitOfWork.isActive()) {
+            existingIds.put(id, Boolean.TRUE);
+        }
+        return exists;
+    }
+
+    /**
+     * Finds the entities with the specified unique identifiers, reading only the ones not cached from the wrapped
+     * repository.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence;
+     *         identifiers with no entity are skipped
+     */
+    @Override
+    public Iterable<E> findAllById(Collection<ID> ids) {
+        Map<ID, E> entities = new LinkedHashMap<>();
+        List<ID> missingIds = new ArrayList<>();
+
+        for (ID id : ids) {
+            if (entities.containsKey(id)) {
+                continue;
+            }
+
+            Optional<E> cached = cache.get(id).map(copier);
+            entities.put(id, cached.orElse(null));
+            if (cached.isEmpty()) {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (E entity : delegate.findAllById(missingIds)) {
+                entities.put(entity.getId(), entity);
+                cache(entity);
+            }
+        }
+
+        entities.values().removeIf(entity -> entity == null);
+        return entities.values();
+    }
+
+    /**
+     * Retrieves all entities managed by the wrapped repository, without caching them.
+     *
+     * @return an iterable collection of all entities in the repository
+     */
+    @Override
+    public Iterable<E> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Retrieves all entities managed by the wrapped repository as a lazily populated stream, without caching them.
+     * The stream holds resources until it is closed, so it should be used in a try-with-resources statement.
+     *
+     * @return a stream of all entities in the repository
+     */
+    @Override
+    public Stream<E> streamAll() {
+        return delegate.streamAll();
+    }
+
+    /**
+     * Saves a new entity in the wrapped repository and invalidates its cached value.
+     *
+     * @param entity the entity to be saved
+     * @return an {@link Optional} containing the saved entity, or an empty {@code Optional} if the entity already
+     *         exists in the system
+     */
+    @Override
+    public Optional<E> save(E entity) {
+        try {
+            return delegate.save(entity);
+        } finally {
+            invalidate(entity.getId());
+        }
+    }
+
+    /**
+     * Deletes an entity from the wrapped repository and invalidates its cached value.
+     *
+     * @param id the unique identifier of the entity to be deleted
+     * @return an {@link Optional} containing the deleted entity, or an empty {@code Optional} if no entity with the
+     *         specified ID exists
+     */
+    @Override
+    public Optional<E> delete(ID id) {
+        try {
+            return delegate.delete(id);
+        } finally {
+            invalidate(id);
+            forget(id);
+        }
+    }
+
+    /**
+     * Updates an existing entity in the wrapped repository and invalidates its cached value.
+     *
+     * @param entity the entity with updated data
+     * @return an {@link Optional} containing the updated entity
+     */
+    @Override
+    public Optional<E> update(E entity) {
+        try {
+            return delegate.update(entity);
+        } finally {
+            invalidate(entity.getId());
+        }
+    }
+
+    /**
+     * Saves multiple new entities in the wrapped repository and invalidates their cached values.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     */
+    @Override
+    public int saveAll(Iterable<E> entities) {
+        try {
+            return delegate.saveAll(entities);
+        } finally {
+            entities.forEach(entity -> invalidate(entity.getId()));
+        }
+    }
+
+    /**
+     * Deletes multiple entities from the wrapped repository and invalidates their cached values.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     */
+    @Override
+    public int deleteAll(Iterable<ID> ids) {
+        try {
+            return delegate.deleteAll(ids);
+        } finally {
+            ids.forEach(id -> {
+                invalidate(id);
+                forget(id);
+            });
+        }
+    }
+
+    /**
+     * Updates multiple existing entities in the wrapped repository and invalidates their cached values.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     */
+    @Override
+    public int updateAll(Iterable<E> entities) {
+        try {
+            return delegate.updateAll(entities);
+        } finally {
+            entities.forEach(entity -> invalidate(entity.getId()));
+        }
+    }
+
+    /**
+     * Returns this repository if it implements the specified type, otherwise the wrapped repository.
+     *
+     * @param type the repository type to be returned
+     * @return this repository or the wrapped repository, as the specified type
+     * @param <R> the repository type to be returned
+     * @throws ClassCastException if neither this repository nor the wrapped one implements the specified type
+     */
+    @Override
+    public <R> R unwrap(Class<R> type) {
+        return type.isInstance(this) ? type.cast(this) : delegate.unwrap(type);
+    }
+
+    /**
+     * Removes all the entities from the cache and the existence index.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        existingIds.invalidateAll();
+    }
+
+    /**
+     * Returns the cache of the repository, giving access to its hit, miss and eviction statistics.
+     *
+     * @return the cache of the repository
+     */
+    public SegmentedLruCache<ID, E> getCache() {
+        return cache;
+    }
+
+    /**
+     * Caches a copy of an entity read from the wrapped repository, unless it was read within a unit of work.
+     *
+     * @param entity the entity to be cached
+     */
+    private void cache(E entity) {
+        if (!UnitOfWork.isActive()) {
+            cache.put(entity.getId(), copier.apply(entity));
+            existingIds.put(entity.getId(), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Removes an entity from the cache now and again once the current unit of work commits.
+     *
+     * @param id the unique identifier of the entity
+     */
+    private void invalidate(ID id) {
+        cache.invalidate(id);
+        UnitOfWork.afterCommit(() -> cache.invalidate(id));
+    }
+
+    /**
+     * Removes a deleted entity from the existence index now and again once the current unit of work commits.
+     *
+     * @param id the unique identifier of the entity
+     */
+    private void forget(ID id) {
+        if (id == null) {
+            return;
+        }
+
+        existingIds.invalidate(id);
+        UnitOfWork.afterCommit(() -> existingIds.invalidate(id));
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.repository.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded cache using a segmented least recently used eviction policy, with an optional time to live.
+ *
+ * New entries are admitted to a probationary segment and promoted to a protected segment once they are hit again, so a
+ * burst of values read only once, such as a scan over all users, evicts other one-off values instead of the values that
+ * are read repeatedly. The protected segment holds at most {@value #PROTECTED_RATIO_PERCENT}% of the entries; its least
+ * recently used entries are demoted back to the probationary segment, whose least recently used entries are evicted.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class SegmentedLruCache<K, V> {
+
+    // Percentage of the maximum size reserved for entries hit more than once
+    private static final int PROTECTED_RATIO_PERCENT = 80;
+
+    // Maximum number of entries kept in each segment
+    private final int maxProtectedSize;
+    private final int maxSize;
+
+    // Time (in milliseconds) after which an entry expires, or 0 if entries never expire
+    private final long timeToLive;
+
+    // Entries read at most once since they were admitted, least recently used first
+    private final LinkedHashMap<K, CacheEntry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Entries read more than once, least recently used first
+    private final LinkedHashMap<K, CacheEntry<V>> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Cache statistics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new SegmentedLruCache.
+     *
+     * @param maxSize the maximum number of entries kept in the cache
+     * @param timeToLive the time (in milliseconds) after which an entry expires, or 0 if entries never expire
+     * @throws IllegalArgumentException if the maximum size is not positive or the time to live is negative
+     */
+    public SegmentedLruCache(int maxSize, long timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Cache time to live cannot be negative");
+        }
+
+        this.maxSize = maxSize;
+        this.maxProtectedSize = (int) ((long) maxSize * PROTECTED_RATIO_PERCENT / 100);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Returns the value cached for the specified key, promoting it to the protected segment.
+     *
+     * @param key the key of the value
+     * @return an {@link Optional} containing the cached value, or an empty {@code Optional} if the key is not cached
+     *         or its entry expired
+     */
+    public synchronized Optional<V> get(K key) {
+        CacheEntry<V> entry = protectedEntries.get(key);
+        if (entry == null) {
+            entry = probation.get(key);
+            if (entry != null && !entry.isExpired()) {
+                probation.remove(key);
+                protectedEntries.put(key, entry);
+                demoteProtectedOverflow();
+            }
+        }
+
+        if (entry == null || entry.isExpired()) {
+            if (entry != null) {
+                invalidate(key);
+            }
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        hits.incrementAndGet();
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Caches a value for the specified key, replacing the value previously cached for it.
+     *
+     * @param key the key of the value
+     * @param value the value to be cached
+     */
+    public synchronized void put(K key, V value) {
+        long expiresAt = timeToLive == 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeToLive;
+        CacheEntry<V> entry = new CacheEntry<>(value, expiresAt);
+
+        if (protectedEntries.containsKey(key)) {
+            protectedEntries.put(key, entry);
+            return;
+        }
+
+        probation.put(key, entry);
+        evictOverflow();
+    }
+
+    /**
+     * Removes the value cached for the specified key, if any.
+     *
+     * @param key the key of the value
+     */
+    public synchronized void invalidate(K key) {
+        if (protectedEntries.remove(key) == null) {
+            probation.remove(key);
+        }
+    }
+
+    /**
+     * Removes all the cached values.
+     */
+    public synchronized void invalidateAll() {
+        probation.clear();
+        protectedEntries.clear();
+    }
+
+    /**
+     * Returns the number of entries currently cached, including the expired entries not removed yet.
+     *
+     * @return the number of cached entries
+     */
+    public synchronized int size() {
+        return probation.size() + protectedEntries.size();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that found no value in the cache.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries removed to keep the cache within its maximum size.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Moves the least recently used protected entries back to the probationary segment while the protected segment
+     * exceeds its share of the cache.
+     */
+    private void demoteProtectedOverflow() {
+        Iterator<Map.Entry<K, CacheEntry<V>>> iterator = protectedEntries.entrySet().iterator();
+        while (protectedEntries.size() > maxProtectedSize && iterator.hasNext()) {
+            Map.Entry<K, CacheEntry<V>> eldest = iterator.next();
+            iterator.remove();
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Evicts the least recently used probationary entries while the cache exceeds its maximum size.
+     */
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, CacheEntry<V>>> iterator = probation.entrySet().iterator();
+        while (size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * A cached value together with the time it expires at.
+     *
+     * @param value the cached value
+     * @param expiresAt the time (in milliseconds since the epoch) the value expires at
+     * @param <V> the type of the cached value
+     */
+    private record CacheEntry<V>(V value, long expiresAt) {
+
+        /**
+         * Checks whether the value has expired.
+         *
+         * @return {@code true} if the value has expired, otherwise {@code false}
+         */
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package org.example.repository.database;
 
+import org.example.database.DatabaseConnection;
 import org.example.models.Entity;
 import org.example.models.validators.Validator;
 import org.example.repository.Repository;
+import org.example.utils.Config;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract class for database repositories, providing CRUD (Create, Read, Update, Delete) operations on entities from
  * the database.
+ * Every operation borrows its own connection from the pool and returns it once the operation is done, or runs on the
+ * connection of the {@link org.example.database.UnitOfWork} active on the current thread.
  *
  * @param <ID> the type of the entity's identifier
  * @param <E> the type of the entity, which must extend {@link Entity<ID>}
@@ -23,6 +40,12 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
     // The validator used to validate entities
     private final Validator<E> validator;
 
+    // Maximum number of statements sent to the database in a single batch
+    private int batchSize = Config.DEFAULT_BATCH_SIZE;
+
+    // Number of rows fetched from the database at once when streaming query results
+    private int fetchSize = Config.DEFAULT_FETCH_SIZE;
+
     /**
      * Constructs a new AbstractDatabaseRepository with the specified {@link Validator}.
      *
@@ -36,50 +59,99 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
      * Prepares a SQL statement to find an entity by ID.
      * Subclasses must implement this method to define how to find an entity by its identifier in the database.
      *
+     * @param connection the connection used to prepare the statement
      * @param id the unique identifier of the entity
      * @return a PreparedStatement configured to find an entity by ID
      * @throws SQLException if a database access error occurs
      */
-    protected abstract PreparedStatement findOneQuery(ID id) throws SQLException;
+    protected abstract PreparedStatement findOneQuery(Connection connection, ID id) throws SQLException;
+
+    /**
+     * Prepares a SQL statement to find the entities whose identifiers are among the specified ones.
+     * Subclasses must implement this method to define how to find multiple entities by their identifiers in the
+     * database, typically with a single array parameter, e.g. {@code WHERE id = ANY(?)}, so that the statement text
+     * does not depend on the number of identifiers.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param ids the unique identifiers of the entities, without duplicates
+     * @return a PreparedStatement configured to find the entities by their identifiers
+     * @throws SQLException if a database access error occurs
+     */
+    protected abstract PreparedStatement findAllByIdQuery(Connection connection, List<ID> ids) throws SQLException;
 
     /**
      * Prepares a SQL statement to find all entities.
      * Subclasses must implement this method to define how to find all entities in the database.
      *
+     * @param connection the connection used to prepare the statement
      * @return a PreparedStatement configured to find all entities
      * @throws SQLException if a database access error occurs
      */
-    protected abstract PreparedStatement findAllQuery() throws SQLException;
+    protected abstract PreparedStatement findAllQuery(Connection connection) throws SQLException;
 
     /**
      * Prepares a SQL statement to save a new entity to the database.
-     * Subclasses must implement this method to define how to save the entity in the database.
+     * Subclasses must implement this method to define how to save an entity in the database; the entity's fields are
+     * bound to the statement by {@link #setSaveParameters(PreparedStatement, Entity)}.
+     *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to save an entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected abstract PreparedStatement prepareSaveQuery(Connection connection) throws SQLException;
+
+    /**
+     * Binds the fields of the entity to be saved to the parameters of the save statement.
      *
+     * @param statement the statement prepared by {@link #prepareSaveQuery(Connection)}
      * @param entity the entity to be saved
-     * @return a PreparedStatement configured to save the entity
      * @throws SQLException if a database access error occurs
      */
-    protected abstract PreparedStatement saveQuery(E entity) throws SQLException;
+    protected abstract void setSaveParameters(PreparedStatement statement, E entity) throws SQLException;
 
     /**
      * Prepares a SQL statement to delete an entity by ID.
-     * Subclasses must implement this method to define how to delete the entity from the database.
+     * Subclasses must implement this method to define how to delete an entity from the database; the identifier is
+     * bound to the statement by {@link #setDeleteParameters(PreparedStatement, Object)}.
+     * The statement must return the deleted row ({@code RETURNING *}) and be prepared with
+     * {@link java.sql.Statement#RETURN_GENERATED_KEYS}, so that the row is available through the generated keys.
+     *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to delete an entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected abstract PreparedStatement prepareDeleteQuery(Connection connection) throws SQLException;
+
+    /**
+     * Binds the identifier of the entity to be deleted to the parameters of the delete statement.
      *
+     * @param statement the statement prepared by {@link #prepareDeleteQuery(Connection)}
      * @param id the unique identifier of the entity to be deleted
-     * @return a PreparedStatement configured to delete the entity
      * @throws SQLException if a database access error occurs
      */
-    protected abstract PreparedStatement deleteQuery(ID id) throws SQLException;
+    protected abstract void setDeleteParameters(PreparedStatement statement, ID id) throws SQLException;
 
     /**
      * Prepares a SQL statement to update an existing entity.
-     * Subclasses must implement this method to define how to update the entity from the database.
+     * Subclasses must implement this method to define how to update an entity from the database; the entity's fields
+     * are bound to the statement by {@link #setUpdateParameters(PreparedStatement, Entity)}.
+     * The statement must return the updated row ({@code RETURNING *}) and be prepared with
+     * {@link java.sql.Statement#RETURN_GENERATED_KEYS}, so that the row is available through the generated keys.
+     *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to update an entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected abstract PreparedStatement prepareUpdateQuery(Connection connection) throws SQLException;
+
+    /**
+     * Binds the fields of the entity to be updated to the parameters of the update statement.
      *
+     * @param statement the statement prepared by {@link #prepareUpdateQuery(Connection)}
      * @param entity the entity with updated information
-     * @return a PreparedStatement configured to update the entity
      * @throws SQLException if a database access error occurs
      */
-    protected abstract PreparedStatement updateQuery(E entity) throws SQLException;
+    protected abstract void setUpdateParameters(PreparedStatement statement, E entity) throws SQLException;
 
     /**
      * Builds an entity from the provided data retrieved from the database.
@@ -91,6 +163,85 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
      */
     protected abstract E buildEntity(ResultSet resultSet) throws SQLException;
 
+    /**
+     * Borrows a connection from the database connection pool.
+     * The connection must be closed once the operation is done, which returns it to the pool.
+     *
+     * @return a connection to the database
+     * @throws SQLException if no connection is available
+     */
+    protected Connection getConnection() throws SQLException {
+        return DatabaseConnection.getInstance().getConnection();
+    }
+
+    /**
+     * Prepares a SQL statement to save a new entity to the database, with the entity's fields bound to it.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param entity the entity to be saved
+     * @return a PreparedStatement configured to save the entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected PreparedStatement saveQuery(Connection connection, E entity) throws SQLException {
+        PreparedStatement statement = prepareSaveQuery(connection);
+        setSaveParameters(statement, entity);
+        return statement;
+    }
+
+    /**
+     * Prepares a SQL statement to delete an entity by ID, with the identifier bound to it.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param id the unique identifier of the entity to be deleted
+     * @return a PreparedStatement configured to delete the entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected PreparedStatement deleteQuery(Connection connection, ID id) throws SQLException {
+        PreparedStatement statement = prepareDeleteQuery(connection);
+        setDeleteParameters(statement, id);
+        return statement;
+    }
+
+    /**
+     * Prepares a SQL statement to update an existing entity, with the entity's fields bound to it.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param entity the entity with updated information
+     * @return a PreparedStatement configured to update the entity
+     * @throws SQLException if a database access error occurs
+     */
+    protected PreparedStatement updateQuery(Connection connection, E entity) throws SQLException {
+        PreparedStatement statement = prepareUpdateQuery(connection);
+        setUpdateParameters(statement, entity);
+        return statement;
+    }
+
+    /**
+     * Sets the maximum number of statements sent to the database in a single batch by the bulk operations.
+     *
+     * @param batchSize the number of statements per batch
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at once when streaming query results.
+     *
+     * @param fetchSize the number of rows per fetch
+     * @throws IllegalArgumentException if the fetch size is not positive
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Retrieves an entity from the database by its identifier.
      *
@@ -106,7 +257,8 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
             throw new NullPointerException("ID cannot be null");
         }
 
-        try (PreparedStatement statement = findOneQuery(id)) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = findOneQuery(connection, id)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
                     E entity = buildEntity(resultSet);
@@ -120,6 +272,40 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
         return Optional.empty();
     }
 
+    /**
+     * Retrieves the entities with the specified identifiers from the database.
+     * The identifiers are looked up in chunks of at most {@code batchSize}, with one query per chunk.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence
+     * @throws NullPointerException if the provided collection or any of its identifiers is null
+     * @throws RuntimeException if an SQL error occurs while trying to execute the queries
+     */
+    @Override
+    public Iterable<E> findAllById(Collection<ID> ids) {
+        if (ids == null) {
+            throw new NullPointerException("IDs must not be null");
+        }
+
+        List<ID> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (uniqueIds.contains(null)) {
+            throw new NullPointerException("ID cannot be null");
+        }
+
+        Map<ID, E> entitiesById = new HashMap<>();
+        for (int from = 0; from < uniqueIds.size(); from += batchSize) {
+            List<ID> chunk = uniqueIds.subList(from, Math.min(from + batchSize, uniqueIds.size()));
+            for (E entity : findMany(connection -> findAllByIdQuery(connection, chunk))) {
+                entitiesById.put(entity.getId(), entity);
+            }
+        }
+
+        return uniqueIds.stream()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Retrieves all entities from the database.
      *
@@ -128,9 +314,21 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
      */
     @Override
     public Iterable<E> findAll() {
+        return findMany(this::findAllQuery);
+    }
+
+    /**
+     * Executes a query and builds an entity from each of its rows.
+     *
+     * @param statementFactory prepares the query to be executed
+     * @return a list of the entities built from the rows of the query
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    protected List<E> findMany(StatementFactory statementFactory) {
         List<E> entities = new ArrayList<>();
 
-        try (PreparedStatement statement = findAllQuery()) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = statementFactory.prepare(connection)) {
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
                     E entity = buildEntity(resultSet);
@@ -144,6 +342,154 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
         return entities;
     }
 
+    /**
+     * Executes a data modification statement affecting any number of rows.
+     *
+     * @param statementFactory prepares the statement to be executed
+     * @return the number of affected rows
+     * @throws RuntimeException if an SQL error occurs while trying to execute the statement
+     */
+    protected int executeUpdate(StatementFactory statementFactory) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = statementFactory.prepare(connection)) {
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves all entities from the database as a lazily populated stream.
+     * Rows are fetched through a server-side cursor, so the table is never loaded into memory at once.
+     *
+     * @return a stream of all entities, which must be closed to release its connection
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Stream<E> streamAll() {
+        return streamQuery(this::findAllQuery);
+    }
+
+    /**
+     * Executes a query and returns its rows, built into entities, as a lazily populated stream.
+     * The query runs with auto-commit disabled and a fetch size, which makes the driver read the rows through a
+     * server-side cursor in chunks of {@code fetchSize} rows. The connection, statement and result set are held until
+     * the stream is closed, so the stream must be used in a try-with-resources statement.
+     *
+     * @param statementFactory prepares the query to be executed
+     * @return a stream of the entities built from the rows of the query
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query or read its rows
+     */
+    protected Stream<E> streamQuery(StatementFactory statementFactory) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        boolean autoCommit = false;
+
+        try {
+            connection = getConnection();
+
+            // Cursors are only used inside a transaction, so start one unless the caller already did
+            autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            statement = statementFactory.prepare(connection);
+            statement.setFetchSize(fetchSize);
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            closeStream(connection, statement, resultSet, autoCommit);
+            throw new RuntimeException(e);
+        }
+
+        ResultSet rows = resultSet;
+        Spliterator<E> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super E> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(buildEntity(rows));
+                    return true;
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+
+        Connection streamConnection = connection;
+        PreparedStatement streamStatement = statement;
+        boolean restoreAutoCommit = autoCommit;
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeStream(streamConnection, streamStatement, rows, restoreAutoCommit));
+    }
+
+    /**
+     * Releases the resources held by a stream returned from {@link #streamQuery(StatementFactory)}.
+     *
+     * @param connection the connection the query was executed on, or {@code null}
+     * @param statement the executed statement, or {@code null}
+     * @param resultSet the result set of the query, or {@code null}
+     * @param restoreAutoCommit whether auto-commit was disabled for the query and has to be enabled again
+     */
+    private void closeStream(Connection connection, PreparedStatement statement, ResultSet resultSet,
+                             boolean restoreAutoCommit) {
+        // Every resource is closed even if closing another one fails; later failures are suppressed by the first one
+        SQLException failure = null;
+        if (resultSet != null) {
+            try {
+                resultSet.close();
+            } catch (SQLException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (connection != null) {
+            if (restoreAutoCommit) {
+                try {
+                    // The transaction only read rows, so there is nothing to commit
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * Records a failure to release a resource, keeping the first failure and suppressing the following ones.
+     *
+     * @param failure the first failure recorded so far, or {@code null}
+     * @param e the new failure
+     * @return the first failure
+     */
+    private static SQLException addFailure(SQLException failure, SQLException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
     /**
      * Saves a new entity in the database.
      *
@@ -161,20 +507,34 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
 
         validator.validate(entity);
 
-        try (PreparedStatement statement = saveQuery(entity)) {
-            statement.executeUpdate();
-            try (ResultSet resultSet = statement.getGeneratedKeys()) {
-                if (resultSet.next()) {
-                    ID generatedId = (ID) resultSet.getString(1);
-                    entity.setId(generatedId);
+        try (Connection connection = getConnection()) {
+            // Inside a transaction, a failed insert must not abort the rest of the transaction
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+
+            try (PreparedStatement statement = saveQuery(connection, entity)) {
+                statement.executeUpdate();
+                try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                    if (resultSet.next()) {
+                        ID generatedId = (ID) resultSet.getString(1);
+                        entity.setId(generatedId);
+                    }
+                }
+            } catch (SQLException e) {
+                // Check for unique constraint violation
+                if ("23505".equals(e.getSQLState())) {
+                    if (savepoint != null) {
+                        connection.rollback(savepoint);
+                    }
+                    return Optional.empty();
                 }
+                throw e;
+            }
+
+            if (savepoint != null) {
+                connection.releaseSavepoint(savepoint);
             }
             return Optional.of(entity);
         } catch (SQLException e) {
-            // Check for unique constraint violation
-            if ("23505".equals(e.getSQLState())) {
-                return Optional.empty();
-            }
             throw new RuntimeException(e);
         }
     }
@@ -194,24 +554,21 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
             throw new NullPointerException("ID cannot be null");
         }
 
-        Optional<E> entity = findOne(id);
-        if (entity.isPresent()) {
-            try (PreparedStatement statement = deleteQuery(id)) {
-                statement.executeUpdate();
-                return entity;
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+        try (Connection connection = getConnection();
+             PreparedStatement statement = deleteQuery(connection, id)) {
+            statement.executeUpdate();
+            return returnedEntity(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
-
-        return Optional.empty();
     }
 
     /**
      * Updates an existing entity in the database.
      *
      * @param entity the entity to be updated
-     * @return an {@link Optional} containing the updated entity
+     * @return an {@link Optional} containing the updated entity, as stored in the database, or an empty
+     *         {@code Optional} if no entity with the same ID exists
      * @throws NullPointerException if the provided entity is null
      * @throws RuntimeException if an SQL error occurs while trying to execute the query
      */
@@ -223,16 +580,226 @@ public abstract class AbstractDatabaseRepository<ID, E extends Entity<ID>> imple
 
         validator.validate(entity);
 
-        Optional<E> retrievedEntity = findOne(entity.getId());
-        if (retrievedEntity.isPresent()) {
-            try (PreparedStatement statement = updateQuery(entity)) {
-                statement.executeUpdate();
-                return Optional.of(entity);
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
-            }
+        try (Connection connection = getConnection();
+             PreparedStatement statement = updateQuery(connection, entity)) {
+            statement.executeUpdate();
+            return returnedEntity(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
         }
+    }
 
+    /**
+     * Builds the entity from the row returned by a {@code RETURNING} clause of an executed statement.
+     *
+     * @param statement the executed statement, prepared to return the affected row as generated keys
+     * @return an {@link Optional} containing the entity built from the affected row, or an empty {@code Optional} if
+     *         no row was affected
+     * @throws SQLException if a database access error occurs
+     */
+    private Optional<E> returnedEntity(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.getGeneratedKeys()) {
+            if (resultSet.next()) {
+                return Optional.of(buildEntity(resultSet));
+            }
+        }
         return Optional.empty();
     }
+
+    /**
+     * Saves multiple new entities in the database, sending the inserts in batches.
+     * All entities are validated before anything is written.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     * @throws RuntimeException if an SQL error occurs while trying to execute the queries, in which case none of the
+     *         entities is saved
+     */
+    @Override
+    public int saveAll(Iterable<E> entities) {
+        if (entities == null) {
+            throw new NullPointerException("Entities must not be null");
+        }
+
+        for (E entity : entities) {
+            if (entity == null) {
+                throw new NullPointerException("Entity must not be null");
+            }
+            validator.validate(entity);
+        }
+
+        return executeBatch(entities, this::prepareSaveQuery, this::setSaveParameters, (entity, keys) -> {
+            @SuppressWarnings("unchecked")
+            ID generatedId = (ID) keys.getString(1);
+            entity.setId(generatedId);
+        });
+    }
+
+    /**
+     * Deletes multiple entities from the database by their identifiers, sending the deletes in batches.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     * @throws NullPointerException if the provided collection or any of its identifiers is null
+     * @throws RuntimeException if an SQL error occurs while trying to execute the queries, in which case none of the
+     *         entities is deleted
+     */
+    @Override
+    public int deleteAll(Iterable<ID> ids) {
+        if (ids == null) {
+            throw new NullPointerException("IDs must not be null");
+        }
+
+        for (ID id : ids) {
+            if (id == null) {
+                throw new NullPointerException("ID cannot be null");
+            }
+        }
+
+        return executeBatch(ids, this::prepareDeleteQuery, this::setDeleteParameters, null);
+    }
+
+    /**
+     * Updates multiple existing entities in the database, sending the updates in batches.
+     * All entities are validated before anything is written.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     * @throws RuntimeException if an SQL error occurs while trying to execute the queries, in which case none of the
+     *         entities is updated
+     */
+    @Override
+    public int updateAll(Iterable<E> entities) {
+        if (entities == null) {
+            throw new NullPointerException("Entities must not be null");
+        }
+
+        for (E entity : entities) {
+            if (entity == null) {
+                throw new NullPointerException("Entity must not be null");
+            }
+            validator.validate(entity);
+        }
+
+        return executeBatch(entities, this::prepareUpdateQuery, this::setUpdateParameters, null);
+    }
+
+    /**
+     * Executes one statement for each of the provided items using JDBC batches of at most {@code batchSize}
+     * statements, in a single transaction.
+     *
+     * @param items the items whose values are bound to the statement
+     * @param statementFactory prepares the statement executed for every item
+     * @param parameterSetter binds the values of an item to the statement
+     * @param keysHandler consumes the generated keys returned for every item, or {@code null} to ignore them
+     * @return the number of affected rows
+     * @throws RuntimeException if an SQL error occurs while trying to execute the queries
+     */
+    private <T> int executeBatch(Iterable<T> items, StatementFactory statementFactory,
+                                 ParameterSetter<T> parameterSetter, KeysHandler<T> keysHandler) {
+        int affectedRows = 0;
+
+        try (Connection connection = getConnection()) {
+            // Run the whole operation in one transaction, unless the caller already started one
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            try (PreparedStatement statement = statementFactory.prepare(connection)) {
+                List<T> batch = new ArrayList<>(batchSize);
+                for (T item : items) {
+                    parameterSetter.setParameters(statement, item);
+                    statement.addBatch();
+                    batch.add(item);
+
+                    if (batch.size() == batchSize) {
+                        affectedRows += flushBatch(statement, batch, keysHandler);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    affectedRows += flushBatch(statement, batch, keysHandler);
+                }
+
+                if (autoCommit) {
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (autoCommit) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        return affectedRows;
+    }
+
+    /**
+     * Sends the accumulated batch to the database and hands the generated keys, if any, to the keys handler.
+     *
+     * @param statement the statement holding the batch
+     * @param batch the items bound to the batch, in the order they were added
+     * @param keysHandler consumes the generated keys returned for every item, or {@code null} to ignore them
+     * @return the number of affected rows
+     * @throws SQLException if a database access error occurs
+     */
+    private <T> int flushBatch(PreparedStatement statement, List<T> batch, KeysHandler<T> keysHandler)
+            throws SQLException {
+        int affectedRows = 0;
+        for (int updateCount : statement.executeBatch()) {
+            if (updateCount > 0) {
+                affectedRows += updateCount;
+            } else if (updateCount == Statement.SUCCESS_NO_INFO) {
+                affectedRows++;
+            }
+        }
+
+        if (keysHandler != null) {
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (int index = 0; index < batch.size() && keys.next(); index++) {
+                    keysHandler.handle(batch.get(index), keys);
+                }
+            }
+        }
+
+        return affectedRows;
+    }
+
+    /**
+     * Prepares a statement on a connection borrowed by the repository.
+     */
+    @FunctionalInterface
+    protected interface StatementFactory {
+        PreparedStatement prepare(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Binds the values of a single item to the statement executed by a bulk operation.
+     *
+     * @param <T> the type of the bound item
+     */
+    @FunctionalInterface
+    private interface ParameterSetter<T> {
+        void setParameters(PreparedStatement statement, T item) throws SQLException;
+    }
+
+    /**
+     * Consumes the generated keys returned for a single item of a bulk operation.
+     *
+     * @param <T> the type of the item
+     */
+    @FunctionalInterface
+    private interface KeysHandler<T> {
+        void handle(T item, ResultSet keys) throws SQLException;
+    }
 }
@@ -1,25 +1,29 @@
 package org.example.repository.database;
 
-import org.example.database.DatabaseConnection;
 import org.example.models.Friendship;
+import org.example.models.FriendshipStatus;
 import org.example.models.Tuple;
 import org.example.models.validators.Validator;
+import org.example.repository.FriendshipRepository;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository class responsible for managing {@link Friendship} entities in the database.
+ *
+ * Every pair of users is stored once, under its canonical key ({@code uid1 < uid2}, see {@link Friendship#key}), with
+ * the direction of the request kept in the {@code sender_is_uid1} column. Identifiers passed to the repository are
+ * canonicalized, so a friendship is found by its users in either order.
  */
-public class FriendshipDatabaseRepository extends AbstractDatabaseRepository<Tuple<String>, Friendship> {
-
-    // The connection established for accessing the database
-    private final Connection databaseConnection;
+public class FriendshipDatabaseRepository extends AbstractDatabaseRepository<Tuple<String>, Friendship>
+        implements FriendshipRepository {
 
     /**
      * Constructs a new FriendshipDatabaseRepository with the specified {@link Validator}.
@@ -28,113 +32,272 @@ public class FriendshipDatabaseRepository extends AbstractDatabaseRepository<Tup
      */
     public FriendshipDatabaseRepository(Validator<Friendship> validator) {
         super(validator);
-        databaseConnection = DatabaseConnection.getInstance().getConnection();
     }
 
     /**
-     * Retrieves all {@link Friendship} entities from the database.
+     * Prepares a SQL statement to find a friendship by ID.
      *
-     * @return an iterable collection of all friendships
-     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     * @param connection the connection used to prepare the statement
+     * @param id the unique identifier of the friendship
+     * @return a PreparedStatement configured to find a friendship by ID
+     * @throws SQLException if a database access error occurs
      */
     @Override
-    public Iterable<Friendship> findAll() {
-        List<Friendship> friendships = new ArrayList<>();
-
-        try (PreparedStatement statement = findAllQuery()) {
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    String uid1 = resultSet.getString("uid1");
-                    String uid2 = resultSet.getString("uid2");
-                    Friendship friendship = buildEntity(resultSet);
-                    friendship.setId(new Tuple<>(uid1, uid2));
-                    friendships.add(friendship);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return friendships;
+    protected PreparedStatement findOneQuery(Connection connection, Tuple<String> id) throws SQLException {
+        String query = "SELECT * FROM friendships WHERE uid1 = ? AND uid2 = ?";
+        return pairQuery(connection, query, id.getFirst(), id.getSecond());
     }
 
     /**
-     * Prepares a SQL statement to find a friendship by ID.
+     * Prepares a SQL statement to find the friendships with the specified identifiers.
+     * The pairs of users are passed as two parallel arrays and matched against the primary key.
      *
-     * @param id the unique identifier of the friendship
-     * @return a PreparedStatement configured to find a friendship by ID
+     * @param connection the connection used to prepare the statement
+     * @param ids the unique identifiers of the friendships
+     * @return a PreparedStatement configured to find the friendships by their identifiers
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findOneQuery(Tuple<String> id) throws SQLException {
-        String query = "SELECT * FROM friendships WHERE uid1 = ? AND uid2 = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(id.getFirst()));
-        preparedStatement.setObject(2, java.util.UUID.fromString(id.getSecond()));
+    protected PreparedStatement findAllByIdQuery(Connection connection, List<Tuple<String>> ids) throws SQLException {
+        ids = ids.stream().map(id -> Friendship.key(id.getFirst(), id.getSecond())).toList();
+        String query = "SELECT friendships.* FROM friendships " +
+                "JOIN unnest(?, ?) AS ids (uid1, uid2) ON friendships.uid1 = ids.uid1 AND friendships.uid2 = ids.uid2";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setArray(1, connection.createArrayOf("uuid",
+                ids.stream().map(id -> java.util.UUID.fromString(id.getFirst())).toArray()));
+        preparedStatement.setArray(2, connection.createArrayOf("uuid",
+                ids.stream().map(id -> java.util.UUID.fromString(id.getSecond())).toArray()));
         return preparedStatement;
     }
 
     /**
      * Prepares a SQL statement to find all friendships.
      *
+     * @param connection the connection used to prepare the statement
      * @return a PreparedStatement configured to find all friendships
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findAllQuery() throws SQLException {
+    protected PreparedStatement findAllQuery(Connection connection) throws SQLException {
         String query = "SELECT * FROM friendships ORDER BY date ASC";
-        return databaseConnection.prepareStatement(query);
+        return connection.prepareStatement(query);
     }
 
     /**
      * Prepares a SQL statement to save a new friendship to the database.
+     * The identifier of a friendship is made of its users, so no generated keys are requested.
+     *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to save a friendship
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareSaveQuery(Connection connection) throws SQLException {
+        String query = "INSERT INTO friendships (uid1, uid2, sender_is_uid1, date, pending) VALUES (?, ?, ?, ?, ?)";
+        return connection.prepareStatement(query);
+    }
+
+    /**
+     * Binds the fields of the friendship to be saved to the parameters of the save statement.
      *
+     * @param statement the statement prepared by {@link #prepareSaveQuery(Connection)}
      * @param entity the {@link Friendship} entity to be saved
-     * @return a PreparedStatement configured to save the friendship
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement saveQuery(Friendship entity) throws SQLException {
-        String query = "INSERT INTO friendships (uid1, uid2, date, pending) VALUES (?, ?, ?, ?)";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
-        preparedStatement.setObject(1, java.util.UUID.fromString(entity.getSenderId()));
-        preparedStatement.setObject(2, java.util.UUID.fromString(entity.getReceiverId()));
-        preparedStatement.setTimestamp(3, java.sql.Timestamp.valueOf(entity.getDate()));
-        preparedStatement.setBoolean(4, entity.isPending());
-        return preparedStatement;
+    protected void setSaveParameters(PreparedStatement statement, Friendship entity) throws SQLException {
+        Tuple<String> key = Friendship.key(entity.getSenderId(), entity.getReceiverId());
+        statement.setObject(1, java.util.UUID.fromString(key.getFirst()));
+        statement.setObject(2, java.util.UUID.fromString(key.getSecond()));
+        statement.setBoolean(3, key.getFirst().equals(entity.getSenderId()));
+        statement.setTimestamp(4, java.sql.Timestamp.valueOf(entity.getDate()));
+        statement.setBoolean(5, entity.isPending());
     }
 
     /**
      * Prepares a SQL statement to delete a friendship by ID.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to delete a friendship
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareDeleteQuery(Connection connection) throws SQLException {
+        String query = "DELETE FROM friendships WHERE uid1 = ? AND uid2 = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the identifier of the friendship to be deleted to the parameters of the delete statement.
+     *
+     * @param statement the statement prepared by {@link #prepareDeleteQuery(Connection)}
      * @param id the unique identifier of the {@link Friendship} to be deleted
-     * @return a PreparedStatement configured to delete the friendship
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement deleteQuery(Tuple<String> id) throws SQLException {
-        String query = "DELETE FROM friendships WHERE uid1 = ? AND uid2 = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(id.getFirst()));
-        preparedStatement.setObject(2, java.util.UUID.fromString(id.getSecond()));
-        return preparedStatement;
+    protected void setDeleteParameters(PreparedStatement statement, Tuple<String> id) throws SQLException {
+        Tuple<String> key = Friendship.key(id.getFirst(), id.getSecond());
+        statement.setObject(1, java.util.UUID.fromString(key.getFirst()));
+        statement.setObject(2, java.util.UUID.fromString(key.getSecond()));
     }
 
     /**
      * Prepares a SQL statement to update an existing friendship.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to update a friendship
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareUpdateQuery(Connection connection) throws SQLException {
+        String query = "UPDATE friendships SET sender_is_uid1 = ?, date = ?, pending = ? " +
+                "WHERE uid1 = ? AND uid2 = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the fields of the friendship to be updated to the parameters of the update statement.
+     *
+     * @param statement the statement prepared by {@link #prepareUpdateQuery(Connection)}
      * @param entity the {@link Friendship} entity with updated information
-     * @return a PreparedStatement configured to update the friendship
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement updateQuery(Friendship entity) throws SQLException {
-        String query = "UPDATE friendships SET date = ?, pending = ? WHERE uid1 = ? AND uid2 = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setTimestamp(1, java.sql.Timestamp.valueOf(entity.getDate()));
-        preparedStatement.setBoolean(2, entity.isPending());
-        preparedStatement.setObject(3, java.util.UUID.fromString(entity.getSenderId()));
-        preparedStatement.setObject(4, java.util.UUID.fromString(entity.getReceiverId()));
+    protected void setUpdateParameters(PreparedStatement statement, Friendship entity) throws SQLException {
+        Tuple<String> key = Friendship.key(entity.getSenderId(), entity.getReceiverId());
+        statement.setBoolean(1, key.getFirst().equals(entity.getSenderId()));
+        statement.setTimestamp(2, java.sql.Timestamp.valueOf(entity.getDate()));
+        statement.setBoolean(3, entity.isPending());
+        statement.setObject(4, java.util.UUID.fromString(key.getFirst()));
+        statement.setObject(5, java.util.UUID.fromString(key.getSecond()));
+    }
+
+    /**
+     * Finds all the friendships of a user, accepted or pending, in the order they were requested.
+     *
+     * @param uid the identifier of the user
+     * @return an iterable collection of the friendships of the user
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Iterable<Friendship> findByUser(String uid) {
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "SELECT * FROM friendships WHERE uid1 = ? OR uid2 = ? ORDER BY date ASC");
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid));
+            preparedStatement.setObject(2, java.util.UUID.fromString(uid));
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Finds the friendships of a user having the specified status from the point of view of that user.
+     *
+     * @param uid the identifier of the user
+     * @param status the status of the friendships to be retrieved
+     * @return an iterable collection of the matching friendships
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Iterable<Friendship> findByUser(String uid, FriendshipStatus status) {
+        String condition = switch (status) {
+            case ACCEPTED -> "(uid1 = ? OR uid2 = ?) AND NOT pending";
+            case SENT -> "((uid1 = ? AND sender_is_uid1) OR (uid2 = ? AND NOT sender_is_uid1)) AND pending";
+            case RECEIVED -> "((uid1 = ? AND NOT sender_is_uid1) OR (uid2 = ? AND sender_is_uid1)) AND pending";
+        };
+        String query = "SELECT * FROM friendships WHERE " + condition + " ORDER BY date ASC";
+
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid));
+            preparedStatement.setObject(2, java.util.UUID.fromString(uid));
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Finds the friendship between two users, whichever of them sent the request, with a primary key lookup.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return an {@link Optional} containing the friendship between the two users, or an empty {@code Optional} if
+     *         there is none
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Optional<Friendship> findBetween(String uid1, String uid2) {
+        return findOne(Friendship.key(uid1, uid2));
+    }
+
+    /**
+     * Checks whether two users are friends, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return {@code true} if an accepted friendship exists between the two users, otherwise {@code false}
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public boolean existsAccepted(String uid1, String uid2) {
+        String query = "SELECT EXISTS (SELECT 1 FROM friendships WHERE uid1 = ? AND uid2 = ? AND NOT pending)";
+
+        try (Connection connection = getConnection();
+             PreparedStatement statement = pairQuery(connection, query, uid1, uid2);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Retrieves the accepted friendships as a lazily populated stream.
+     * Rows are fetched through a server-side cursor, so the friendships are never loaded into memory at once.
+     *
+     * @return a stream of the accepted friendships, which must be closed to release its connection
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Stream<Friendship> streamAccepted() {
+        return streamQuery(connection -> connection.prepareStatement(
+                "SELECT * FROM friendships WHERE NOT pending"));
+    }
+
+    /**
+     * Deletes all the friendships of a user with a single statement, whichever of the two users sent the request.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted friendships
+     * @throws RuntimeException if an SQL error occurs while trying to execute the statement
+     */
+    @Override
+    public int deleteByUser(String uid) {
+        return executeUpdate(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "DELETE FROM friendships WHERE uid1 = ? OR uid2 = ?");
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid));
+            preparedStatement.setObject(2, java.util.UUID.fromString(uid));
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Prepares a SQL statement matching the friendship between two users, whose first two parameters are bound to the
+     * canonical key of the pair, whichever order the users are given in.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param query the SQL text of the statement
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return a PreparedStatement configured to match the friendship between the two users
+     * @throws SQLException if a database access error occurs
+     */
+    private PreparedStatement pairQuery(Connection connection, String query, String uid1, String uid2)
+            throws SQLException {
+        Tuple<String> key = Friendship.key(uid1, uid2);
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setObject(1, java.util.UUID.fromString(key.getFirst()));
+        preparedStatement.setObject(2, java.util.UUID.fromString(key.getSecond()));
         return preparedStatement;
     }
 
@@ -149,13 +312,13 @@ public class FriendshipDatabaseRepository extends AbstractDatabaseRepository<Tup
     protected Friendship buildEntity(ResultSet resultSet) throws SQLException {
         String uid1 = resultSet.getString("uid1");
         String uid2 = resultSet.getString("uid2");
+        boolean senderIsUid1 = resultSet.getBoolean("sender_is_uid1");
         LocalDateTime date = resultSet.getTimestamp("date").toLocalDateTime();
         boolean pending = resultSet.getBoolean("pending");
 
-        Friendship friendship = new Friendship(uid1, uid2);
+        Friendship friendship = senderIsUid1 ? new Friendship(uid1, uid2) : new Friendship(uid2, uid1);
         friendship.setDate(date);
         friendship.setPending(pending);
-        friendship.setId(new Tuple<>(uid1, uid2));
         return friendship;
     }
 }
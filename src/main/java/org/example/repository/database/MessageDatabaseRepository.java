@@ -1,22 +1,19 @@
 package org.example.repository.database;
 
-import org.example.database.DatabaseConnection;
 import org.example.models.Message;
 import org.example.models.User;
 import org.example.models.validators.Validator;
+import org.example.repository.MessageRepository;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
-public class MessageDatabaseRepository extends AbstractDatabaseRepository<String, Message> {
-
-    // The connection established for accessing the database
-    private final Connection databaseConnection;
+public class MessageDatabaseRepository extends AbstractDatabaseRepository<String, Message>
+        implements MessageRepository {
 
     /**
      * Constructs a new {@code MessageDatabaseRepository} with the specified {@link Validator}.
@@ -25,124 +22,282 @@ public class MessageDatabaseRepository extends AbstractDatabaseRepository<String
      */
     public MessageDatabaseRepository(Validator<Message> validator) {
         super(validator);
-        databaseConnection = DatabaseConnection.getInstance().getConnection();
     }
 
     /**
      * Prepares a SQL statement to find a message by ID.
      *
+     * @param connection the connection used to prepare the statement
      * @param id the unique identifier of the message
      * @return a PreparedStatement configured to find a message by ID
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findOneQuery(String id) throws SQLException {
+    protected PreparedStatement findOneQuery(Connection connection, String id) throws SQLException {
         String query = "SELECT * FROM messages WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
         preparedStatement.setObject(1, java.util.UUID.fromString(id));
         return preparedStatement;
     }
 
+    /**
+     * Prepares a SQL statement to find the messages with the specified identifiers.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param ids the unique identifiers of the messages
+     * @return a PreparedStatement configured to find the messages by their identifiers
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement findAllByIdQuery(Connection connection, List<String> ids) throws SQLException {
+        String query = "SELECT * FROM messages WHERE id = ANY(?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setArray(1, connection.createArrayOf("uuid",
+                ids.stream().map(java.util.UUID::fromString).toArray()));
+        return preparedStatement;
+    }
+
     /**
      * Prepares a SQL statement to find all messages.
      *
+     * @param connection the connection used to prepare the statement
      * @return a PreparedStatement configured to find all messages
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findAllQuery() throws SQLException {
+    protected PreparedStatement findAllQuery(Connection connection) throws SQLException {
         String query = "SELECT * FROM messages";
-        return databaseConnection.prepareStatement(query);
+        return connection.prepareStatement(query);
     }
 
     /**
      * Prepares a SQL statement to save a new message to the database.
+     * The message is stored under the identifier it already carries, so that the saved message can be used as a page
+     * cursor and matched against the messages read back from the database.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to save a message
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareSaveQuery(Connection connection) throws SQLException {
+        String query = "INSERT INTO messages (id, sid, rid, plain_text, date) VALUES (?, ?, ?, ?, ?)";
+        return connection.prepareStatement(query);
+    }
+
+    /**
+     * Binds the fields of the message to be saved to the parameters of the save statement.
+     *
+     * @param statement the statement prepared by {@link #prepareSaveQuery(Connection)}
      * @param entity the {@link Message} entity to be saved
-     * @return a PreparedStatement configured to save the message
      * @throws SQLException if a database access error occurs
      */
-    protected PreparedStatement saveQuery(Message entity) throws SQLException {
-        String query = "INSERT INTO messages (sid, rid, plain_text, date) VALUES (?, ?, ?, ?)";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(entity.getSenderId()));
-        preparedStatement.setObject(2, java.util.UUID.fromString(entity.getReceiverId()));
-        preparedStatement.setString(3, entity.getMessage());
-        preparedStatement.setTimestamp(4, java.sql.Timestamp.valueOf(entity.getDate()));
-        return preparedStatement;
+    @Override
+    protected void setSaveParameters(PreparedStatement statement, Message entity) throws SQLException {
+        statement.setObject(1, java.util.UUID.fromString(entity.getId()));
+        statement.setObject(2, java.util.UUID.fromString(entity.getSenderId()));
+        statement.setObject(3, java.util.UUID.fromString(entity.getReceiverId()));
+        statement.setString(4, entity.getMessage());
+        statement.setTimestamp(5, java.sql.Timestamp.valueOf(entity.getDate()));
     }
 
     /**
      * Prepares a SQL statement to delete a message by ID.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to delete a message
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareDeleteQuery(Connection connection) throws SQLException {
+        String query = "DELETE FROM messages WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the identifier of the message to be deleted to the parameters of the delete statement.
+     *
+     * @param statement the statement prepared by {@link #prepareDeleteQuery(Connection)}
      * @param id the unique identifier of the {@link Message} to be deleted
-     * @return a PreparedStatement configured to delete the message
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement deleteQuery(String id) throws SQLException {
-        String query = "DELETE FROM messages WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(id));
-        return preparedStatement;
+    protected void setDeleteParameters(PreparedStatement statement, String id) throws SQLException {
+        statement.setObject(1, java.util.UUID.fromString(id));
     }
 
     /**
      * Prepares a SQL statement to update an existing message.
      *
-     * @param entity the {@link Message} entity with updated information
-     * @return a PreparedStatement configured to update the message
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to update a message
      * @throws SQLException if a database access error occurs
      */
-    protected PreparedStatement updateQuery(Message entity) throws SQLException {
-        String query = "UPDATE messages SET sid = ?, rid = ?, plain_text = ?, date = ? WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(entity.getSenderId()));
-        preparedStatement.setObject(2, java.util.UUID.fromString(entity.getReceiverId()));
-        preparedStatement.setString(3, entity.getMessage());
-        preparedStatement.setTimestamp(4, java.sql.Timestamp.valueOf(entity.getDate()));
-        return preparedStatement;
+    @Override
+    protected PreparedStatement prepareUpdateQuery(Connection connection) throws SQLException {
+        String query = "UPDATE messages SET sid = ?, rid = ?, plain_text = ?, date = ? WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
     }
 
     /**
-     * Prepares a SQL statement to retrieve messages sent from a user to another.
+     * Binds the fields of the message to be updated to the parameters of the update statement.
      *
-     * @param senderId the unique identifier of the sender {@link User}
-     * @param receiverId the unique identifier of the receiver {@link User}
-     * @return a PreparedStatement configured to retrieve the sent messages
+     * @param statement the statement prepared by {@link #prepareUpdateQuery(Connection)}
+     * @param entity the {@link Message} entity with updated information
      * @throws SQLException if a database access error occurs
      */
-    private PreparedStatement getSentQuery(String senderId, String receiverId) throws SQLException {
-        String query = "SELECT * FROM messages WHERE sid = ? AND rid = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(senderId));
-        preparedStatement.setObject(2, java.util.UUID.fromString(receiverId));
-        return preparedStatement;
+    @Override
+    protected void setUpdateParameters(PreparedStatement statement, Message entity) throws SQLException {
+        statement.setObject(1, java.util.UUID.fromString(entity.getSenderId()));
+        statement.setObject(2, java.util.UUID.fromString(entity.getReceiverId()));
+        statement.setString(3, entity.getMessage());
+        statement.setTimestamp(4, java.sql.Timestamp.valueOf(entity.getDate()));
+        statement.setObject(5, java.util.UUID.fromString(entity.getId()));
     }
 
     /**
-     * Retrieves all messages from the database send between two users.
+     * Retrieves all messages from the database sent from a user to another, in the order they were sent.
      *
      * @param senderId the unique identifier of the sender {@link User}
      * @param receiverId the unique identifier of the receiver {@link User}
      * @return an iterable collection of all sent messages
      * @throws RuntimeException if an SQL error occurs while trying to execute the query
      */
-    public Iterable<Message> getSent(String senderId, String receiverId) throws SQLException {
-        List<Message> messages = new ArrayList<>();
+    @Override
+    public Iterable<Message> getSent(String senderId, String receiverId) {
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "SELECT * FROM messages WHERE sid = ? AND rid = ? ORDER BY date ASC");
+            preparedStatement.setObject(1, java.util.UUID.fromString(senderId));
+            preparedStatement.setObject(2, java.util.UUID.fromString(receiverId));
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, preceding the specified message.
+     * Messages are ordered by date, then by identifier, so that messages sent at the same date are neither skipped
+     * nor repeated across pages. Both directions of the conversation are read from the {@code (sid, rid, date)}
+     * index, so only the requested page is read from the table.
+     *
+     * @param uid1 the unique identifier of the first {@link User}
+     * @param uid2 the unique identifier of the second {@link User}
+     * @param before the date of the message the returned messages precede, or {@code null} to start from the latest
+     *               message
+     * @param beforeId the identifier of the message the returned messages precede, or {@code null} to return only the
+     *                 messages sent before its date
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public List<Message> findConversation(String uid1, String uid2, LocalDateTime before, String beforeId,
+                                          int limit) {
+        if (before == null) {
+            return findConversationPage(uid1, uid2, null, List.of(), limit);
+        }
 
-        try (PreparedStatement statement = getSentQuery(senderId, receiverId)) {
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    Message message = buildEntity(resultSet);
-                    messages.add(message);
-                }
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        java.sql.Timestamp date = java.sql.Timestamp.valueOf(before);
+        if (beforeId == null) {
+            return findConversationPage(uid1, uid2, "date < ?", List.of(date), limit);
         }
 
-        return messages;
+        // The redundant bound on the date alone keeps the row comparison a range scan of the index
+        return findConversationPage(uid1, uid2, "date <= ? AND (date, id) < (?, ?)",
+                List.of(date, date, java.util.UUID.fromString(beforeId)), limit);
+    }
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, sent at or after the specified date.
+     * Like {@link #findConversation(String, String, LocalDateTime, String, int)}, only the requested messages are read from
+     * the {@code (sid, rid, date)} index, so refreshing a conversation costs as much as the messages sent since.
+     *
+     * @param uid1 the unique identifier of the first {@link User}
+     * @param uid2 the unique identifier of the second {@link User}
+     * @param since the date the returned messages were sent at or after, or {@code null} to start from the first
+     *              message
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public List<Message> findConversationSince(String uid1, String uid2, LocalDateTime since, int limit) {
+        return since == null
+                ? findConversationPage(uid1, uid2, null, List.of(), limit)
+                : findConversationPage(uid1, uid2, "date >= ?", List.of(java.sql.Timestamp.valueOf(since)), limit);
+    }
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, optionally bounded by their position.
+     *
+     * @param uid1 the unique identifier of the first {@link User}
+     * @param uid2 the unique identifier of the second {@link User}
+     * @param condition the condition on the date and identifier of the messages, or {@code null} to retrieve any
+     *                  message
+     * @param parameters the parameters of the condition
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    private List<Message> findConversationPage(String uid1, String uid2, String condition, List<Object> parameters,
+                                               int limit) {
+        String query = "SELECT * FROM messages WHERE (sid, rid) IN ((?, ?), (?, ?))" +
+                (condition != null ? " AND " + condition : "") +
+                " ORDER BY date DESC, id DESC LIMIT ?";
+
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            int index = 1;
+            preparedStatement.setObject(index++, java.util.UUID.fromString(uid1));
+            preparedStatement.setObject(index++, java.util.UUID.fromString(uid2));
+            preparedStatement.setObject(index++, java.util.UUID.fromString(uid2));
+            preparedStatement.setObject(index++, java.util.UUID.fromString(uid1));
+            for (Object parameter : parameters) {
+                preparedStatement.setObject(index++, parameter);
+            }
+            preparedStatement.setInt(index, limit);
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Deletes all the messages sent or received by a user with a single statement.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted messages
+     * @throws RuntimeException if an SQL error occurs while trying to execute the statement
+     */
+    @Override
+    public int deleteByUser(String uid) {
+        return executeUpdate(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "DELETE FROM messages WHERE sid = ? OR rid = ?");
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid));
+            preparedStatement.setObject(2, java.util.UUID.fromString(uid));
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Deletes all the messages exchanged between two users with a single statement, reading both directions of the
+     * conversation from the {@code (sid, rid, date)} index.
+     *
+     * @param uid1 the unique identifier of the first {@link User}
+     * @param uid2 the unique identifier of the second {@link User}
+     * @return the number of deleted messages
+     * @throws RuntimeException if an SQL error occurs while trying to execute the statement
+     */
+    @Override
+    public int deleteConversation(String uid1, String uid2) {
+        return executeUpdate(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "DELETE FROM messages WHERE (sid, rid) IN ((?, ?), (?, ?))");
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid1));
+            preparedStatement.setObject(2, java.util.UUID.fromString(uid2));
+            preparedStatement.setObject(3, java.util.UUID.fromString(uid2));
+            preparedStatement.setObject(4, java.util.UUID.fromString(uid1));
+            return preparedStatement;
+        });
     }
 
     /**
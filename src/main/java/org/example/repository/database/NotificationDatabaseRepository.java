@@ -1,19 +1,18 @@
 package org.example.repository.database;
 
-import org.example.database.DatabaseConnection;
 import org.example.models.Notification;
 import org.example.models.validators.Validator;
+import org.example.repository.NotificationRepository;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 
-public class NotificationDatabaseRepository extends AbstractDatabaseRepository<String, Notification> {
-
-    // The connection established for accessing the database
-    private final Connection databaseConnection;
+public class NotificationDatabaseRepository extends AbstractDatabaseRepository<String, Notification>
+        implements NotificationRepository {
 
     /**
      * Constructs a new {@code NotificationDatabaseRepository} with the specified {@link Validator}.
@@ -22,82 +21,200 @@ public class NotificationDatabaseRepository extends AbstractDatabaseRepository<S
      */
     public NotificationDatabaseRepository(Validator<Notification> validator) {
         super(validator);
-        databaseConnection = DatabaseConnection.getInstance().getConnection();
     }
 
     /**
      * Prepares a SQL statement to find a notification by ID.
      *
+     * @param connection the connection used to prepare the statement
      * @param id the unique identifier of the notification
      * @return a PreparedStatement configured to find a notification by ID
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findOneQuery(String id) throws SQLException {
+    protected PreparedStatement findOneQuery(Connection connection, String id) throws SQLException {
         String query = "SELECT * FROM notifications WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
         preparedStatement.setObject(1, java.util.UUID.fromString(id));
         return preparedStatement;
     }
 
+    /**
+     * Prepares a SQL statement to find the notifications with the specified identifiers.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param ids the unique identifiers of the notifications
+     * @return a PreparedStatement configured to find the notifications by their identifiers
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement findAllByIdQuery(Connection connection, List<String> ids) throws SQLException {
+        String query = "SELECT * FROM notifications WHERE id = ANY(?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setArray(1, connection.createArrayOf("uuid",
+                ids.stream().map(java.util.UUID::fromString).toArray()));
+        return preparedStatement;
+    }
+
     /**
      * Prepares a SQL statement to find all notifications.
      *
+     * @param connection the connection used to prepare the statement
      * @return a PreparedStatement configured to find all notifications
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findAllQuery() throws SQLException {
+    protected PreparedStatement findAllQuery(Connection connection) throws SQLException {
         String query = "SELECT * FROM notifications";
-        return databaseConnection.prepareStatement(query);
+        return connection.prepareStatement(query);
     }
 
     /**
      * Prepares a SQL statement to save a new notification to the database.
      *
-     * @param entity the {@link Notification} entity to be saved
-     * @return a PreparedStatement configured to save the notification
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to save a notification
      * @throws SQLException if a database access error occurs
      */
-    protected PreparedStatement saveQuery(Notification entity) throws SQLException {
+    @Override
+    protected PreparedStatement prepareSaveQuery(Connection connection) throws SQLException {
         String query = "INSERT INTO notifications (description, date, uid) VALUES (?, ?, ?)";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setString(1, entity.getDescription());
-        preparedStatement.setTimestamp(2, java.sql.Timestamp.valueOf(entity.getDate()));
-        preparedStatement.setObject(3, java.util.UUID.fromString(entity.getUserId()));
-        return preparedStatement;
+        return connection.prepareStatement(query);
+    }
+
+    /**
+     * Binds the fields of the notification to be saved to the parameters of the save statement.
+     *
+     * @param statement the statement prepared by {@link #prepareSaveQuery(Connection)}
+     * @param entity the {@link Notification} entity to be saved
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected void setSaveParameters(PreparedStatement statement, Notification entity) throws SQLException {
+        statement.setString(1, entity.getDescription());
+        statement.setTimestamp(2, java.sql.Timestamp.valueOf(entity.getDate()));
+        statement.setObject(3, java.util.UUID.fromString(entity.getUserId()));
     }
 
     /**
      * Prepares a SQL statement to delete a notification by ID.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to delete a notification
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareDeleteQuery(Connection connection) throws SQLException {
+        String query = "DELETE FROM notifications WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the identifier of the notification to be deleted to the parameters of the delete statement.
+     *
+     * @param statement the statement prepared by {@link #prepareDeleteQuery(Connection)}
      * @param id the unique identifier of the {@link Notification} to be deleted
-     * @return a PreparedStatement configured to delete the notification
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement deleteQuery(String id) throws SQLException {
-        String query = "DELETE FROM notifications WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(id));
-        return preparedStatement;
+    protected void setDeleteParameters(PreparedStatement statement, String id) throws SQLException {
+        statement.setObject(1, java.util.UUID.fromString(id));
     }
 
     /**
      * Prepares a SQL statement to update an existing notification.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to update a notification
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareUpdateQuery(Connection connection) throws SQLException {
+        String query = "UPDATE notifications SET description = ?, date = ?, uid = ? WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the fields of the notification to be updated to the parameters of the update statement.
+     *
+     * @param statement the statement prepared by {@link #prepareUpdateQuery(Connection)}
      * @param entity the {@link Notification} entity with updated information
-     * @return a PreparedStatement configured to update the notification
      * @throws SQLException if a database access error occurs
      */
-    protected PreparedStatement updateQuery(Notification entity) throws SQLException {
-        String query = "UPDATE messages SET description = ?, date = ?, uid = ? WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setString(1, entity.getDescription());
-        preparedStatement.setTimestamp(2, java.sql.Timestamp.valueOf(entity.getDate()));
-        preparedStatement.setObject(3, java.util.UUID.fromString(entity.getUserId()));
-        preparedStatement.setObject(4, java.util.UUID.fromString(entity.getId()));
-        return preparedStatement;
+    @Override
+    protected void setUpdateParameters(PreparedStatement statement, Notification entity) throws SQLException {
+        statement.setString(1, entity.getDescription());
+        statement.setTimestamp(2, java.sql.Timestamp.valueOf(entity.getDate()));
+        statement.setObject(3, java.util.UUID.fromString(entity.getUserId()));
+        statement.setObject(4, java.util.UUID.fromString(entity.getId()));
+    }
+
+    /**
+     * Retrieves the most recent notifications of a user, read in order from the {@code (uid, date)} index.
+     *
+     * @param uid the identifier of the user
+     * @param limit the maximum number of notifications to be retrieved
+     * @param since the date the returned notifications were created after, or {@code null} to retrieve them regardless
+     *              of their date
+     * @return a list of the notifications, most recent first
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public List<Notification> findByUser(String uid, int limit, LocalDateTime since) {
+        String query = "SELECT * FROM notifications WHERE uid = ?" +
+                (since != null ? " AND date > ?" : "") +
+                " ORDER BY date DESC LIMIT ?";
+
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(query);
+            int index = 1;
+            preparedStatement.setObject(index++, java.util.UUID.fromString(uid));
+            if (since != null) {
+                preparedStatement.setTimestamp(index++, java.sql.Timestamp.valueOf(since));
+            }
+            preparedStatement.setInt(index, limit);
+            return preparedStatement;
+        });
+    }
+
+    /**
+     * Counts the unread notifications of a user with a single primary key lookup.
+     * The counters are kept up to date by database triggers on every insert and delete of notifications, whichever
+     * application or statement performs it, so the notifications themselves are not read.
+     *
+     * @param uid the identifier of the user
+     * @return the number of unread notifications of the user
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public int countUnreadByUser(String uid) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT count FROM notification_counters WHERE uid = ?")) {
+            statement.setObject(1, java.util.UUID.fromString(uid));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Deletes all the notifications of a user with a single statement.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted notifications
+     * @throws RuntimeException if an SQL error occurs while trying to execute the statement
+     */
+    @Override
+    public int deleteByUser(String uid) {
+        return executeUpdate(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    "DELETE FROM notifications WHERE uid = ?");
+            preparedStatement.setObject(1, java.util.UUID.fromString(uid));
+            return preparedStatement;
+        });
     }
 
     /**
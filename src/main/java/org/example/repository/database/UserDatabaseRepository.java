@@ -1,29 +1,56 @@
 package org.example.repository.database;
 
 import javafx.util.Pair;
-import org.example.database.DatabaseConnection;
 import org.example.models.User;
 import org.example.models.dtos.UserFilterDTO;
 import org.example.models.validators.Validator;
+import org.example.repository.UserRepository;
 import org.example.repository.paging.PagingRepository;
+import org.example.utils.Config;
 import org.example.utils.Paging.Page;
 import org.example.utils.Paging.Pageable;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Repository class responsible for managing {@link User} entities in the database.
  */
-public class UserDatabaseRepository extends AbstractDatabaseRepository<String, User> implements PagingRepository<String, User> {
+public class UserDatabaseRepository extends AbstractDatabaseRepository<String, User>
+        implements PagingRepository<String, User>, UserRepository {
 
-    // The connection established for accessing the database
-    private final Connection databaseConnection;
+    // Predefined Logger for error reporting across application
+    private static final Logger LOGGER = Logger.getLogger(UserDatabaseRepository.class.getName());
+
+    // Order in which users are paged; the identifier makes it total, so that keyset cursors are unambiguous
+    private static final String PAGE_ORDER = "last_name, first_name, id";
+
+    // Separator between the sort key components encoded in a keyset cursor, outside of the Base64 url alphabet
+    private static final String CURSOR_SEPARATOR = ".";
+
+    // Extracts the row estimate of the top plan node from a JSON query plan
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    // Number of estimated matching users above which the planner estimate is reported instead of an exact count
+    private long approximateCountThreshold = Config.DEFAULT_APPROXIMATE_COUNT_THRESHOLD;
+
+    // Whether trigram search is available, or null until it is first needed
+    private Boolean trigramSearch = null;
 
     /**
      * Constructs a new UserDatabaseRepository with the specified {@link Validator}.
@@ -32,86 +59,180 @@ public class UserDatabaseRepository extends AbstractDatabaseRepository<String, U
      */
     public UserDatabaseRepository(Validator<User> validator) {
         super(validator);
-        databaseConnection = DatabaseConnection.getInstance().getConnection();
     }
 
     /**
      * Prepares a SQL statement to find a user by ID.
      *
+     * @param connection the connection used to prepare the statement
      * @param id the unique identifier of the user
      * @return a PreparedStatement configured to find a user by ID
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findOneQuery(String id) throws SQLException {
+    protected PreparedStatement findOneQuery(Connection connection, String id) throws SQLException {
         String query = "SELECT * FROM users WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
         preparedStatement.setObject(1, java.util.UUID.fromString(id));
         return preparedStatement;
     }
 
+    /**
+     * Prepares a SQL statement to find the users with the specified identifiers.
+     *
+     * @param connection the connection used to prepare the statement
+     * @param ids the unique identifiers of the users
+     * @return a PreparedStatement configured to find the users by their identifiers
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement findAllByIdQuery(Connection connection, List<String> ids) throws SQLException {
+        String query = "SELECT * FROM users WHERE id = ANY(?)";
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+        preparedStatement.setArray(1, connection.createArrayOf("uuid",
+                ids.stream().map(java.util.UUID::fromString).toArray()));
+        return preparedStatement;
+    }
+
     /**
      * Prepares a SQL statement to find all users.
      *
+     * @param connection the connection used to prepare the statement
      * @return a PreparedStatement configured to find all users
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement findAllQuery() throws SQLException {
+    protected PreparedStatement findAllQuery(Connection connection) throws SQLException {
         String query = "SELECT * FROM users";
-        return databaseConnection.prepareStatement(query);
+        return connection.prepareStatement(query);
     }
 
     /**
      * Prepares a SQL statement to save a new user to the database.
      *
-     * @param entity the {@link User} entity to be saved
-     * @return a PreparedStatement configured to save the user
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to save a user
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement saveQuery(User entity) throws SQLException {
+    protected PreparedStatement prepareSaveQuery(Connection connection) throws SQLException {
         String query = "INSERT INTO users (first_name, last_name, email, password) VALUES (?, ?, ?, ?)";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
-        preparedStatement.setString(1, entity.getFirstName());
-        preparedStatement.setString(2, entity.getLastName());
-        preparedStatement.setString(3, entity.getEmail());
-        preparedStatement.setString(4, entity.getPassword());
-        return preparedStatement;
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the fields of the user to be saved to the parameters of the save statement.
+     *
+     * @param statement the statement prepared by {@link #prepareSaveQuery(Connection)}
+     * @param entity the {@link User} entity to be saved
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected void setSaveParameters(PreparedStatement statement, User entity) throws SQLException {
+        statement.setString(1, entity.getFirstName());
+        statement.setString(2, entity.getLastName());
+        statement.setString(3, entity.getEmail());
+        statement.setString(4, entity.getPassword());
     }
 
     /**
      * Prepares a SQL statement to delete a user by ID.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to delete a user
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareDeleteQuery(Connection connection) throws SQLException {
+        String query = "DELETE FROM users WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the identifier of the user to be deleted to the parameters of the delete statement.
+     *
+     * @param statement the statement prepared by {@link #prepareDeleteQuery(Connection)}
      * @param id the unique identifier of the {@link User} to be deleted
-     * @return a PreparedStatement configured to delete the user
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement deleteQuery(String id) throws SQLException {
-        String query = "DELETE FROM users WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setObject(1, java.util.UUID.fromString(id));
-        return preparedStatement;
+    protected void setDeleteParameters(PreparedStatement statement, String id) throws SQLException {
+        statement.setObject(1, java.util.UUID.fromString(id));
     }
 
     /**
      * Prepares a SQL statement to update an existing user.
      *
+     * @param connection the connection used to prepare the statement
+     * @return a PreparedStatement configured to update a user
+     * @throws SQLException if a database access error occurs
+     */
+    @Override
+    protected PreparedStatement prepareUpdateQuery(Connection connection) throws SQLException {
+        String query = "UPDATE users SET first_name = ?, last_name = ?, email = ?, password = ? WHERE id = ? RETURNING *";
+        return connection.prepareStatement(query, PreparedStatement.RETURN_GENERATED_KEYS);
+    }
+
+    /**
+     * Binds the fields of the user to be updated to the parameters of the update statement.
+     *
+     * @param statement the statement prepared by {@link #prepareUpdateQuery(Connection)}
      * @param entity the {@link User} entity with updated information
-     * @return a PreparedStatement configured to update the user
      * @throws SQLException if a database access error occurs
      */
     @Override
-    protected PreparedStatement updateQuery(User entity) throws SQLException {
-        String query = "UPDATE users SET first_name = ?, last_name = ?, email = ?, password = ? WHERE id = ?";
-        PreparedStatement preparedStatement = databaseConnection.prepareStatement(query);
-        preparedStatement.setString(1, entity.getFirstName());
-        preparedStatement.setString(2, entity.getLastName());
-        preparedStatement.setString(3, entity.getEmail());
-        preparedStatement.setString(4, entity.getPassword());
-        preparedStatement.setObject(5, java.util.UUID.fromString(entity.getId()));
-        return preparedStatement;
+    protected void setUpdateParameters(PreparedStatement statement, User entity) throws SQLException {
+        statement.setString(1, entity.getFirstName());
+        statement.setString(2, entity.getLastName());
+        statement.setString(3, entity.getEmail());
+        statement.setString(4, entity.getPassword());
+        statement.setObject(5, java.util.UUID.fromString(entity.getId()));
+    }
+
+    /**
+     * Finds a user by their email address through the unique index on {@code users(email)}.
+     *
+     * @param email the email address of the user
+     * @return an {@link Optional} containing the user with the specified email address, or an empty {@code Optional}
+     *         if no user is found
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+
+        return findMany(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM users WHERE email = ?");
+            preparedStatement.setString(1, email);
+            return preparedStatement;
+        }).stream().findFirst();
+    }
+
+    /**
+     * Checks whether a user with the specified identifier exists, without reading their data.
+     *
+     * @param id the unique identifier of the user
+     * @return {@code true} if the user exists, otherwise {@code false}
+     * @throws RuntimeException if an SQL error occurs while trying to execute the query
+     */
+    @Override
+    public boolean exists(String id) {
+        if (id == null) {
+            return false;
+        }
+
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT EXISTS (SELECT 1 FROM users WHERE id = ?)")) {
+            statement.setObject(1, UUID.fromString(id));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -136,35 +257,19 @@ public class UserDatabaseRepository extends AbstractDatabaseRepository<String, U
 
     /**
      * Converts the given {@link UserFilterDTO} into an SQL query fragment with its corresponding parameters.
+     * Every non-blank filter becomes a case-insensitive substring match, which can be served by the trigram index of
+     * the searched column.
      *
      * @param filter the filter criteria for querying users; can be null
      * @return a pair containing the SQL conditions and a list of query parameters
      */
     private Pair<String, List<Object>> toSQL(UserFilterDTO filter) {
-        // Return an empty query if the filter is null
-        if (filter == null) {
-            return new Pair<>("", Collections.emptyList());
-        }
-
         List<String> conditions = new ArrayList<>();
         List<Object> params = new ArrayList<>();
 
-        // Add conditions and parameters for filtering by first name
-        filter.getFirstName().ifPresent(firstNameFilter -> {
-            conditions.add("first_name LIKE ?");
-            params.add("%" + firstNameFilter + "%");
-        });
-
-        // Add conditions and parameters for filtering by last name
-        filter.getLastName().ifPresent(lastNameFilter -> {
-            conditions.add("last_name LIKE ?");
-            params.add("%" + lastNameFilter + "%");
-        });
-
-        // Add conditions and parameters for filtering by email
-        filter.getEmail().ifPresent(emailFilter -> {
-            conditions.add("email LIKE ?");
-            params.add("%" + emailFilter + "%");
+        searchTerms(filter).forEach((column, term) -> {
+            conditions.add(column + " ILIKE ?");
+            params.add("%" + escapeLike(term) + "%");
         });
 
         // Combine conditions into a single SQL WHERE clause
@@ -172,15 +277,107 @@ public class UserDatabaseRepository extends AbstractDatabaseRepository<String, U
         return new Pair<>(query, params);
     }
 
+    /**
+     * Converts the given {@link UserFilterDTO} into an SQL expression measuring how closely a user matches the filter,
+     * as the sum of the trigram similarities between each searched column and its search term.
+     *
+     * @param filter the filter criteria for querying users; can be null
+     * @return a pair containing the SQL expression and a list of query parameters, or {@code null} if the filter has
+     *         no search terms or trigram search is not available
+     */
+    private Pair<String, List<Object>> toRelevanceSQL(UserFilterDTO filter) {
+        Map<String, String> terms = searchTerms(filter);
+        if (terms.isEmpty() || !isTrigramSearchAvailable()) {
+            return null;
+        }
+
+        List<String> similarities = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        terms.forEach((column, term) -> {
+            similarities.add("similarity(" + column + ", ?)");
+            params.add(term);
+        });
+
+        return new Pair<>(String.join(" + ", similarities), params);
+    }
+
+    /**
+     * Collects the non-blank search terms of the given filter, by the column they are matched against.
+     *
+     * @param filter the filter criteria for querying users; can be null
+     * @return the trimmed search terms indexed by column name
+     */
+    private static Map<String, String> searchTerms(UserFilterDTO filter) {
+        Map<String, String> terms = new LinkedHashMap<>();
+
+        // Return no terms if the filter is null
+        if (filter == null) {
+            return terms;
+        }
+
+        filter.getFirstName().map(String::trim).filter(term -> !term.isEmpty())
+                .ifPresent(term -> terms.put("first_name", term));
+        filter.getLastName().map(String::trim).filter(term -> !term.isEmpty())
+                .ifPresent(term -> terms.put("last_name", term));
+        filter.getEmail().map(String::trim).filter(term -> !term.isEmpty())
+                .ifPresent(term -> terms.put("email", term));
+        return terms;
+    }
+
+    /**
+     * Escapes the wildcard characters of a search term, so that it is matched literally by a {@code LIKE} pattern.
+     *
+     * @param term the search term
+     * @return the escaped search term
+     */
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Checks whether searches list the most relevant users first, which requires trigram search; otherwise search
+     * results are ordered by name, like pages without search terms.
+     *
+     * @return {@code true} if search results are ordered by relevance, otherwise {@code false}
+     */
+    public boolean isSearchRelevanceOrdered() {
+        return isTrigramSearchAvailable();
+    }
+
+    /**
+     * Checks whether the trigram extension, installed together with the trigram indexes of the searched columns by the
+     * schema migrations, is available, the first time a search needs it.
+     *
+     * @return {@code true} if trigram search is available, otherwise {@code false}
+     */
+    private synchronized boolean isTrigramSearchAvailable() {
+        if (trigramSearch != null) {
+            return trigramSearch;
+        }
+
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm'");
+             ResultSet resultSet = statement.executeQuery()) {
+            trigramSearch = resultSet.next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (!trigramSearch) {
+            LOGGER.warning("Trigram search is not available, searching users without relevance ordering");
+        }
+        return trigramSearch;
+    }
+
     /**
      * Counts the total number of users in the database that match the given filter criteria.
      *
-     * @param filter the filter criteria for counting users
+     * @param SQLFilter the SQL conditions and parameters of the filter criteria
      * @return the total count of matching users
      */
-    private int count(UserFilterDTO filter) {
+    private int count(Pair<String, List<Object>> SQLFilter) {
         String query = "SELECT COUNT(*) AS count FROM users";
-        Pair<String, List<Object>> SQLFilter = toSQL(filter);
 
         // Append the filter conditions to the query, if any
         if (!SQLFilter.getKey().isEmpty()) {
@@ -188,7 +385,8 @@ public class UserDatabaseRepository extends AbstractDatabaseRepository<String, U
         }
 
         // Execute the query and fetch the count
-        try (PreparedStatement preparedStatement = databaseConnection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             int paramIndex = 0;
             for (Object param : SQLFilter.getValue()) {
                 preparedStatement.setObject(++paramIndex, param);
@@ -206,67 +404,227 @@ public class UserDatabaseRepository extends AbstractDatabaseRepository<String, U
     }
 
     /**
-     * Retrieves a paginated list of users that match the given filter criteria.
+     * Estimates the number of users matching the given filter criteria from the planner statistics, without
+     * executing the query.
+     *
+     * @param SQLFilter the SQL conditions and parameters of the filter criteria
+     * @return the estimated count of matching users
+     */
+    private long estimateCount(Pair<String, List<Object>> SQLFilter) {
+        String query = "EXPLAIN (FORMAT JSON) SELECT * FROM users";
+
+        // Append the filter conditions to the query, if any
+        if (!SQLFilter.getKey().isEmpty()) {
+            query += " WHERE " + SQLFilter.getKey();
+        }
+
+        // Execute the query and read the row estimate of the top plan node
+        try (Connection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int paramIndex = 0;
+            for (Object param : SQLFilter.getValue()) {
+                preparedStatement.setObject(++paramIndex, param);
+            }
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    Matcher matcher = PLAN_ROWS.matcher(resultSet.getString(1));
+                    if (matcher.find()) {
+                        return Long.parseLong(matcher.group(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieves a paginated list of users that match the given filter criteria, ordered by last name, first name and
+     * identifier, optionally along with the total number of matching users computed by the same query.
+     * In keyset mode the page starts right after the position encoded in the cursor, which lets the database seek
+     * through the sort order instead of reading and discarding all the preceding rows. The total is then computed by a
+     * scalar subquery, since the seek condition hides the preceding rows from a window function.
+     *
+     * In offset mode, users can be ordered by relevance first, with the best matches of a search on the first pages.
      *
      * @param pageable the pagination details
-     * @param filter the filter criteria for querying users
-     * @return a list of users for the specified page
+     * @param SQLFilter the SQL conditions and parameters of the filter criteria
+     * @param SQLRelevance the SQL expression and parameters measuring the relevance of a user, or {@code null} to order
+     *                     users by name only; ignored in keyset mode, where pages follow the name order
+     * @param withCount whether the total number of matching users should be computed
+     * @return a pair containing the list of users for the specified page and the total count of matching users, which
+     *         is {@code null} if it was not requested or the page is empty
      */
-    private List<User> findAllUsersOnPage(Pageable pageable, UserFilterDTO filter) {
+    private Pair<List<User>, Integer> findAllUsersOnPage(Pageable pageable, Pair<String, List<Object>> SQLFilter,
+                                                        Pair<String, List<Object>> SQLRelevance, boolean withCount) {
         List<User> usersOnPage = new ArrayList<>();
+        Integer totalNumberOfRows = null;
 
-        String query = "SELECT * FROM users";
-        Pair<String, List<Object>> SQLFilter = toSQL(filter);
+        String where = SQLFilter.getKey().isEmpty() ? "" : " WHERE " + SQLFilter.getKey();
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        String query = "SELECT *";
+        if (withCount && pageable.isKeyset()) {
+            query += ", (SELECT COUNT(*) FROM users" + where + ") AS total_count";
+            params.addAll(SQLFilter.getValue());
+        } else if (withCount) {
+            query += ", COUNT(*) OVER () AS total_count";
+        }
+        query += " FROM users";
 
-        // Append the filter conditions to the query, if any
         if (!SQLFilter.getKey().isEmpty()) {
-            query += " WHERE " + SQLFilter.getKey();
+            conditions.add(SQLFilter.getKey());
+            params.addAll(SQLFilter.getValue());
+        }
+
+        // Continue after the last user of the previous page
+        boolean seek = pageable.isKeyset() && pageable.getCursor() != null;
+        if (seek) {
+            conditions.add("(last_name, first_name, id) > (?, ?, ?)");
+            params.addAll(decodeCursor(pageable.getCursor()));
         }
-        query += " LIMIT ? OFFSET ?";
+
+        // Append the filter conditions to the query, if any
+        if (!conditions.isEmpty()) {
+            query += " WHERE " + String.join(" AND ", conditions);
+        }
+        // Order by relevance when searching, keeping the name order among equally relevant users
+        if (SQLRelevance != null && !pageable.isKeyset()) {
+            query += " ORDER BY " + SQLRelevance.getKey() + " DESC, " + PAGE_ORDER;
+            params.addAll(SQLRelevance.getValue());
+        } else {
+            query += " ORDER BY " + PAGE_ORDER;
+        }
+        query += pageable.isKeyset() ? " LIMIT ?" : " LIMIT ? OFFSET ?";
 
         // Execute the query to fetch the paginated users
-        try (PreparedStatement preparedStatement = databaseConnection.prepareStatement(query)) {
+        try (Connection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             int paramIndex = 0;
-            for (Object param : SQLFilter.getValue()) {
+            for (Object param : params) {
                 preparedStatement.setObject(++paramIndex, param);
             }
 
             // Set pagination parameters
             preparedStatement.setInt(++paramIndex, pageable.getPageSize());
-            preparedStatement.setInt(++paramIndex, pageable.getPageSize() * pageable.getPageNumber());
+            if (!pageable.isKeyset()) {
+                preparedStatement.setInt(++paramIndex, pageable.getPageSize() * pageable.getPageNumber());
+            }
 
             // Parse the result set and build the list of users
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
                     usersOnPage.add(buildEntity(resultSet));
+                    if (withCount) {
+                        totalNumberOfRows = resultSet.getInt("total_count");
+                    }
                 }
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
 
-        return usersOnPage;
+        return new Pair<>(usersOnPage, totalNumberOfRows);
+    }
+
+    /**
+     * Encodes the sort key of a user into an opaque keyset cursor.
+     * Every component is encoded on its own, so that names may contain any character.
+     *
+     * @param user the last user on a page
+     * @return the cursor of the page following the user
+     */
+    static String encodeCursor(User user) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return Stream.of(user.getLastName(), user.getFirstName(), user.getId())
+                .map(component -> encoder.encodeToString(component.getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.joining(CURSOR_SEPARATOR));
+    }
+
+    /**
+     * Decodes a keyset cursor into the query parameters of the sort key it encodes.
+     *
+     * @param cursor the cursor returned with a previous page
+     * @return the last name, first name and identifier the page starts after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static List<Object> decodeCursor(String cursor) {
+        String[] parts = cursor.split(Pattern.quote(CURSOR_SEPARATOR), -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        String lastName = new String(decoder.decode(parts[0]), StandardCharsets.UTF_8);
+        String firstName = new String(decoder.decode(parts[1]), StandardCharsets.UTF_8);
+        UUID id = UUID.fromString(new String(decoder.decode(parts[2]), StandardCharsets.UTF_8));
+        return List.of(lastName, firstName, id);
     }
 
     /**
      * Retrieves a paginated list of users along with the total number of matching users.
+     * Searches match every filter as a case-insensitive substring and, in offset mode, list the most relevant users
+     * first. The page and the total are fetched by a single query. When the planner estimates more matching users than the
+     * approximate count threshold, the estimate is returned as total instead and the page is marked as approximate.
+     * In keyset mode the returned page carries the cursor of the next page, if any.
      *
      * @param pageable the pagination details
      * @param filter the filter criteria for querying users
      * @return a page containing the list of users and the total count of matching users
      */
     public Page<User> findAllOnPage(Pageable pageable, UserFilterDTO filter) {
-        int totalNumberOfRows = count(filter);
-        List<User> usersOnPage;
+        Pair<String, List<Object>> SQLFilter = toSQL(filter);
+        Pair<String, List<Object>> SQLRelevance = toRelevanceSQL(filter);
+
+        // Skip the exact count for very large results, where the planner estimate is good enough
+        if (approximateCountThreshold > 0) {
+            long estimatedNumberOfRows = estimateCount(SQLFilter);
+            if (estimatedNumberOfRows > approximateCountThreshold) {
+                List<User> usersOnPage = findAllUsersOnPage(pageable, SQLFilter, SQLRelevance, false).getKey();
+                int totalNumberOfRows = (int) Math.min(estimatedNumberOfRows, Integer.MAX_VALUE);
+                return new Page<>(usersOnPage, totalNumberOfRows, nextCursor(pageable, usersOnPage), true);
+            }
+        }
 
-        // Fetch users only if there are matching rows
-        if (totalNumberOfRows > 0) {
-            usersOnPage = findAllUsersOnPage(pageable, filter);
-        } else {
-            usersOnPage = new ArrayList<>();
+        Pair<List<User>, Integer> page = findAllUsersOnPage(pageable, SQLFilter, SQLRelevance, true);
+        List<User> usersOnPage = page.getKey();
+
+        // An empty page carries no total, so count separately, e.g. when paging past the last page
+        int totalNumberOfRows = page.getValue() != null ? page.getValue() : count(SQLFilter);
+
+        return new Page<>(usersOnPage, totalNumberOfRows, nextCursor(pageable, usersOnPage));
+    }
+
+    /**
+     * Returns the keyset cursor of the page following the given one.
+     *
+     * @param pageable the pagination details of the given page
+     * @param usersOnPage the users on the given page
+     * @return the cursor of the next page, or {@code null} if not in keyset mode or the given page is the last one
+     */
+    static String nextCursor(Pageable pageable, List<User> usersOnPage) {
+        // A full page may be followed by another one
+        if (pageable.isKeyset() && !usersOnPage.isEmpty() && usersOnPage.size() == pageable.getPageSize()) {
+            return encodeCursor(usersOnPage.get(usersOnPage.size() - 1));
         }
+        return null;
+    }
 
-        return new Page<>(usersOnPage, totalNumberOfRows);
+    /**
+     * Sets the number of estimated matching users above which paged searches report the planner estimate instead of
+     * an exact count.
+     *
+     * @param approximateCountThreshold the number of estimated rows, or {@code 0} to always count exactly
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public void setApproximateCountThreshold(long approximateCountThreshold) {
+        if (approximateCountThreshold < 0) {
+            throw new IllegalArgumentException("Approximate count threshold must not be negative");
+        }
+        this.approximateCountThreshold = approximateCountThreshold;
     }
 
     /**
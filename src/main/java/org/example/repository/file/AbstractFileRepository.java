@@ -146,4 +146,52 @@ public abstract class AbstractFileRepository<ID, E extends Entity<ID>> extends I
         }
         return updatedEntity;
     }
+
+    /**
+     * Saves multiple new entities in the repository (storage) and updates the specified file once.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     */
+    @Override
+    public int saveAll(Iterable<E> entities) {
+        int savedEntities = super.saveAll(entities);
+        if (savedEntities > 0) {
+            saveDataToFile();
+        }
+        return savedEntities;
+    }
+
+    /**
+     * Deletes multiple entities from the repository (storage) by their identifiers and updates the specified file once.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     * @throws NullPointerException if the provided collection or any of its identifiers is null
+     */
+    @Override
+    public int deleteAll(Iterable<ID> ids) {
+        int deletedEntities = super.deleteAll(ids);
+        if (deletedEntities > 0) {
+            saveDataToFile();
+        }
+        return deletedEntities;
+    }
+
+    /**
+     * Updates multiple existing entities in the repository (storage) and updates the specified file once.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     */
+    @Override
+    public int updateAll(Iterable<E> entities) {
+        int updatedEntities = super.updateAll(entities);
+        if (updatedEntities > 0) {
+            saveDataToFile();
+        }
+        return updatedEntities;
+    }
 }
@@ -1,19 +1,24 @@
 package org.example.repository.file;
 
 import org.example.models.Friendship;
+import org.example.models.FriendshipStatus;
 import org.example.models.Tuple;
 import org.example.models.validators.Validator;
+import org.example.repository.FriendshipRepository;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository class for managing Friendship entities in a file-based/in-memory storage.
  */
-public class FriendshipFileRepository extends AbstractFileRepository<Tuple<String>, Friendship> {
+public class FriendshipFileRepository extends AbstractFileRepository<Tuple<String>, Friendship>
+        implements FriendshipRepository {
 
     /**
      * Constructs a new FriendshipFileRepository with the specified file name and validator.
@@ -35,15 +40,14 @@ public class FriendshipFileRepository extends AbstractFileRepository<Tuple<Strin
     @Override
     protected Friendship extractEntity(@NotNull String record) {
         List<String> fields = Arrays.asList(record.split(","));
-        String uid1 = fields.get(1);
-        String uid2 = fields.get(2);
-        LocalDateTime date = LocalDateTime.parse(fields.get(3));
-        boolean pending = Boolean.parseBoolean(fields.get(4));
+        String uid1 = fields.get(0);
+        String uid2 = fields.get(1);
+        LocalDateTime date = LocalDateTime.parse(fields.get(2));
+        boolean pending = Boolean.parseBoolean(fields.get(3));
 
         Friendship friendship = new Friendship(uid1, uid2);
         friendship.setDate(date);
         friendship.setPending(pending);
-        friendship.setId(new Tuple<>(uid1, uid2));
         return friendship;
     }
 
@@ -60,4 +64,109 @@ public class FriendshipFileRepository extends AbstractFileRepository<Tuple<Strin
                 "," + friendship.getDate() +
                 "," + friendship.isPending();
     }
+
+    /**
+     * Finds all the friendships of a user, accepted or pending, in the order they were requested.
+     *
+     * @param uid the identifier of the user
+     * @return an iterable collection of the friendships of the user
+     */
+    @Override
+    public Iterable<Friendship> findByUser(String uid) {
+        return entities.values().stream()
+                .filter(friendship -> friendship.containsUser(uid))
+                .toList();
+    }
+
+    /**
+     * Finds the friendships of a user having the specified status from the point of view of that user.
+     *
+     * @param uid the identifier of the user
+     * @param status the status of the friendships to be retrieved
+     * @return an iterable collection of the matching friendships
+     */
+    @Override
+    public Iterable<Friendship> findByUser(String uid, FriendshipStatus status) {
+        return entities.values().stream()
+                .filter(friendship -> status.matches(friendship, uid))
+                .toList();
+    }
+
+    /**
+     * Finds the friendship between two users, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return an {@link Optional} containing the friendship between the two users, or an empty {@code Optional} if
+     *         there is none
+     */
+    @Override
+    public Optional<Friendship> findBetween(String uid1, String uid2) {
+        return Optional.ofNullable(entities.get(Friendship.key(uid1, uid2)));
+    }
+
+    /**
+     * Checks whether two users are friends, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return {@code true} if an accepted friendship exists between the two users, otherwise {@code false}
+     */
+    @Override
+    public boolean existsAccepted(String uid1, String uid2) {
+        Friendship friendship = entities.get(Friendship.key(uid1, uid2));
+        return friendship != null && !friendship.isPending();
+    }
+
+    /**
+     * Retrieves the accepted friendships as a stream.
+     *
+     * @return a stream of the accepted friendships
+     */
+    @Override
+    public Stream<Friendship> streamAccepted() {
+        return entities.values().stream()
+                .filter(friendship -> !friendship.isPending());
+    }
+
+    /**
+     * Finds a friendship by its identifier, whichever order its users are given in.
+     *
+     * @param id the identifier of the friendship
+     * @return an {@link Optional} containing the friendship, or an empty {@code Optional} if no friendship is found
+     * @throws NullPointerException if the provided identifier is null
+     */
+    @Override
+    public Optional<Friendship> findOne(Tuple<String> id) {
+        return super.findOne(id == null ? null : Friendship.key(id.getFirst(), id.getSecond()));
+    }
+
+    /**
+     * Deletes a friendship by its identifier, whichever order its users are given in, and updates the specified file.
+     *
+     * @param id the identifier of the friendship to be deleted
+     * @return an {@link Optional} containing the deleted friendship, or an empty {@code Optional} if no friendship is
+     *         found
+     * @throws NullPointerException if the provided identifier is null
+     */
+    @Override
+    public Optional<Friendship> delete(Tuple<String> id) {
+        return super.delete(id == null ? null : Friendship.key(id.getFirst(), id.getSecond()));
+    }
+
+    /**
+     * Deletes all the friendships of a user, whichever of the two users sent the request, updating the specified
+     * file once.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted friendships
+     */
+    @Override
+    public int deleteByUser(String uid) {
+        List<Tuple<String>> ids = entities.values().stream()
+                .filter(friendship -> friendship.containsUser(uid))
+                .map(Friendship::getId)
+                .toList();
+        return ids.isEmpty() ? 0 : deleteAll(ids);
+    }
 }
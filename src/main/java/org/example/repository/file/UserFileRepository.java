@@ -2,16 +2,30 @@ package org.example.repository.file;
 
 import org.example.models.User;
 import org.example.models.validators.Validator;
+import org.example.repository.UserRepository;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository class for managing User entities in a file-based/in-memory storage.
  */
-public class UserFileRepository extends AbstractFileRepository<String, User> {
+public class UserFileRepository extends AbstractFileRepository<String, User> implements UserRepository {
+
+    // Users indexed by their email address, kept in sync with the stored entities
+    private final Map<String, User> usersByEmail = new HashMap<>();
+
+    // Email address each user is indexed under, by user identifier, which stays correct even when a stored user is
+    // changed in place before being updated
+    private final Map<String, String> indexedEmails = new HashMap<>();
 
     /**
      * Constructs a new UserFileRepository with the specified file name and validator.
@@ -22,6 +36,7 @@ public class UserFileRepository extends AbstractFileRepository<String, User> {
      */
     public UserFileRepository(String fileName, Validator<User> validator) throws IOException {
         super(fileName, validator);
+        reindex();
     }
 
     /**
@@ -58,4 +73,149 @@ public class UserFileRepository extends AbstractFileRepository<String, User> {
                 "," + user.getPassword() +
                 "," + user.getEmail();
     }
+
+    /**
+     * Finds a user by their email address through the email index.
+     *
+     * @param email the email address of the user
+     * @return an {@link Optional} containing the user with the specified email address, or an empty {@code Optional}
+     *         if no user is found
+     */
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email));
+    }
+
+    /**
+     * Saves a new user in the repository (storage) and indexes their email address.
+     * Users are equal when their email addresses are, so a user whose email address is already in use is not saved.
+     *
+     * @param user the user to be saved
+     * @return an {@link Optional} containing the saved user, or an empty {@code Optional} if a user with the same
+     *         identifier or email address already exists in the system
+     */
+    @Override
+    public Optional<User> save(User user) {
+        if (user != null && usersByEmail.containsKey(user.getEmail())) {
+            return Optional.empty();
+        }
+
+        Optional<User> savedUser = super.save(user);
+        savedUser.ifPresent(this::index);
+        return savedUser;
+    }
+
+    /**
+     * Deletes a user from the repository (storage) and removes their email address from the index.
+     *
+     * @param id the unique identifier of the user to be deleted
+     * @return an {@link Optional} containing the deleted user, or an empty {@code Optional} if no user with the
+     *         specified ID exists
+     */
+    @Override
+    public Optional<User> delete(String id) {
+        Optional<User> deletedUser = super.delete(id);
+        deletedUser.ifPresent(this::unindex);
+        return deletedUser;
+    }
+
+    /**
+     * Updates an existing user in the repository (storage) and reindexes their email address.
+     *
+     * @param user the user with updated information
+     * @return an {@link Optional} containing the updated user
+     */
+    @Override
+    public Optional<User> update(User user) {
+        Optional<User> updatedUser = super.update(user);
+        updatedUser.ifPresent(u -> {
+            unindex(u);
+            index(u);
+        });
+        return updatedUser;
+    }
+
+    /**
+     * Saves multiple new users in the repository (storage) and rebuilds the email index.
+     * Users whose email address is already in use, by a stored user or an earlier user of the batch, are skipped.
+     *
+     * @param users the users to be saved
+     * @return the number of saved users
+     */
+    @Override
+    public int saveAll(Iterable<User> users) {
+        if (users == null) {
+            throw new NullPointerException("Entities must not be null");
+        }
+
+        Set<String> emails = new HashSet<>(usersByEmail.keySet());
+        List<User> newUsers = new ArrayList<>();
+        for (User user : users) {
+            if (user == null || emails.add(user.getEmail())) {
+                newUsers.add(user);
+            }
+        }
+
+        int savedUsers = super.saveAll(newUsers);
+        reindex();
+        return savedUsers;
+    }
+
+    /**
+     * Deletes multiple users from the repository (storage) and rebuilds the email index.
+     *
+     * @param ids the unique identifiers of the users to be deleted
+     * @return the number of deleted users
+     */
+    @Override
+    public int deleteAll(Iterable<String> ids) {
+        int deletedUsers = super.deleteAll(ids);
+        reindex();
+        return deletedUsers;
+    }
+
+    /**
+     * Updates multiple existing users in the repository (storage) and rebuilds the email index.
+     *
+     * @param users the users with updated information
+     * @return the number of updated users
+     */
+    @Override
+    public int updateAll(Iterable<User> users) {
+        int updatedUsers = super.updateAll(users);
+        reindex();
+        return updatedUsers;
+    }
+
+    /**
+     * Rebuilds the email index from the stored users.
+     */
+    private void reindex() {
+        usersByEmail.clear();
+        indexedEmails.clear();
+        entities.values().forEach(this::index);
+    }
+
+    /**
+     * Adds a user to the email index under their current email address.
+     *
+     * @param user the stored user
+     */
+    private void index(User user) {
+        usersByEmail.put(user.getEmail(), user);
+        indexedEmails.put(user.getId(), user.getEmail());
+    }
+
+    /**
+     * Removes a user from the email index, under the email address they were indexed with.
+     *
+     * @param user the user, whose email address may have changed since they were indexed
+     */
+    private void unindex(User user) {
+        String indexedEmail = indexedEmails.remove(user.getId());
+        if (indexedEmail != null) {
+            usersByEmail.computeIfPresent(indexedEmail,
+                    (email, indexedUser) -> indexedUser.getId().equals(user.getId()) ? null : indexedUser);
+        }
+    }
 }
@@ -4,9 +4,15 @@ import org.example.models.Entity;
 import org.example.models.validators.Validator;
 import org.example.repository.Repository;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * A generic in-memory (local) repository for managing entities.
@@ -46,6 +52,26 @@ public class InMemoryRepository<ID, E extends Entity<ID>> implements Repository<
         return Optional.ofNullable(entities.get(id));
     }
 
+    /**
+     * Finds the entities with the specified identifiers.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence
+     * @throws NullPointerException if the provided collection or any of its identifiers is null
+     */
+    @Override
+    public Iterable<E> findAllById(Collection<ID> ids) {
+        if (ids == null) {
+            throw new NullPointerException("IDs must not be null");
+        }
+
+        return ids.stream()
+                .map(id -> findOne(id).orElse(null))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
     /**
      * Retrieves all entities in the repository (storage).
      *
@@ -56,12 +82,22 @@ public class InMemoryRepository<ID, E extends Entity<ID>> implements Repository<
         return entities.values();
     }
 
+    /**
+     * Retrieves all entities in the repository (storage) as a stream.
+     *
+     * @return a stream of all entities
+     */
+    @Override
+    public Stream<E> streamAll() {
+        return entities.values().stream();
+    }
+
     /**
      * Saves a new entity in the repository (storage).
      *
      * @param entity the entity to be saved
-     * @return an {@link Optional} containing the saved entity, or an empty {@code Optional} if the entity already
-     *         exists in the system
+     * @return an {@link Optional} containing the saved entity, or an empty {@code Optional} if an entity with the same
+     *         identifier already exists in the system
      * @throws NullPointerException if the provided entity is null
      */
     public Optional<E> save(E entity) {
@@ -71,7 +107,7 @@ public class InMemoryRepository<ID, E extends Entity<ID>> implements Repository<
 
         validator.validate(entity);
 
-        if (entities.values().stream().anyMatch(existingEntity -> existingEntity.equals(entity))) {
+        if (entities.containsKey(entity.getId())) {
             return Optional.empty();
         }
 
@@ -116,4 +152,88 @@ public class InMemoryRepository<ID, E extends Entity<ID>> implements Repository<
         entities.put(entity.getId(), entity);
         return Optional.of(entity);
     }
+
+    /**
+     * Saves multiple new entities in the repository (storage).
+     * Entities whose identifier already exists in the system are skipped.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     */
+    @Override
+    public int saveAll(Iterable<E> entities) {
+        if (entities == null) {
+            throw new NullPointerException("Entities must not be null");
+        }
+
+        Map<ID, E> newEntities = new LinkedHashMap<>();
+        for (E entity : entities) {
+            if (entity == null) {
+                throw new NullPointerException("Entity must not be null");
+            }
+            validator.validate(entity);
+            newEntities.putIfAbsent(entity.getId(), entity);
+        }
+
+        newEntities.keySet().removeIf(this.entities::containsKey);
+
+        this.entities.putAll(newEntities);
+        return newEntities.size();
+    }
+
+    /**
+     * Deletes multiple entities from the repository (storage) by their identifiers.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     * @throws NullPointerException if the provided collection or any of its identifiers is null
+     */
+    @Override
+    public int deleteAll(Iterable<ID> ids) {
+        if (ids == null) {
+            throw new NullPointerException("IDs must not be null");
+        }
+
+        Set<ID> idsToDelete = new HashSet<>();
+        for (ID id : ids) {
+            if (id == null) {
+                throw new NullPointerException("ID must not be null");
+            }
+            idsToDelete.add(id);
+        }
+
+        int size = entities.size();
+        entities.keySet().removeAll(idsToDelete);
+        return size - entities.size();
+    }
+
+    /**
+     * Updates multiple existing entities in the repository (storage).
+     * Entities that do not exist in the system are skipped.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     * @throws NullPointerException if the provided collection or any of its entities is null
+     */
+    @Override
+    public int updateAll(Iterable<E> entities) {
+        if (entities == null) {
+            throw new NullPointerException("Entities must not be null");
+        }
+
+        Map<ID, E> updatedEntities = new LinkedHashMap<>();
+        for (E entity : entities) {
+            if (entity == null) {
+                throw new NullPointerException("Entity must not be null");
+            }
+            if (this.entities.containsKey(entity.getId())) {
+                validator.validate(entity);
+                updatedEntities.put(entity.getId(), entity);
+            }
+        }
+
+        this.entities.putAll(updatedEntities);
+        return updatedEntities.size();
+    }
 }
@@ -9,5 +9,14 @@ import java.sql.SQLException;
 
 public interface PagingRepository<ID, E extends Entity<ID>> extends Repository<ID, E> {
 
+    /**
+     * Retrieves a page of entities in a stable order.
+     * In offset mode the page is located by its number, while in keyset mode ({@link Pageable#isKeyset()}) it starts
+     * right after the cursor of the previous page and the returned page carries the cursor of the next one.
+     *
+     * @param pageable the pagination details
+     * @return the requested page
+     * @throws SQLException if a database access error occurs
+     */
     Page<E> findAllOnPage(Pageable pageable) throws SQLException;
-}
\ No newline at end of file
+}
@@ -3,7 +3,9 @@ package org.example.service;
 import org.example.models.Entity;
 import org.example.repository.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Abstract class for specialized services, providing base functionalities for managing communication between User
@@ -39,6 +41,18 @@ public abstract class AbstractService<ID, E extends Entity<ID>> implements Servi
         return repository.findOne(id);
     }
 
+    /**
+     * Finds the entities with the specified unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence;
+     *         identifiers with no entity are skipped
+     */
+    @Override
+    public Iterable<E> findAllById(Collection<ID> ids) {
+        return repository.findAllById(ids);
+    }
+
     /**
      * Retrieves all entities managed by the repository.
      *
@@ -49,6 +63,17 @@ public abstract class AbstractService<ID, E extends Entity<ID>> implements Servi
         return repository.findAll();
     }
 
+    /**
+     * Retrieves all entities managed by the repository as a lazily populated stream.
+     * The stream holds resources until it is closed, so it should be used in a try-with-resources statement.
+     *
+     * @return a stream of all entities in the repository
+     */
+    @Override
+    public Stream<E> streamAll() {
+        return repository.streamAll();
+    }
+
     /**
      * Saves a new entity or updates an existing entity in the repository.
      *
@@ -83,4 +108,37 @@ public abstract class AbstractService<ID, E extends Entity<ID>> implements Servi
     public Optional<E> update(E entity) {
         return repository.update(entity);
     }
+
+    /**
+     * Saves multiple new entities in the repository in a single operation.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     */
+    @Override
+    public int saveAll(Iterable<E> entities) {
+        return repository.saveAll(entities);
+    }
+
+    /**
+     * Deletes multiple entities by their unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     */
+    @Override
+    public int deleteAllById(Iterable<ID> ids) {
+        return repository.deleteAll(ids);
+    }
+
+    /**
+     * Updates multiple existing entities in the repository in a single operation.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     */
+    @Override
+    public int updateAll(Iterable<E> entities) {
+        return repository.updateAll(entities);
+    }
 }
@@ -27,17 +27,24 @@ public class Community {
 
     /**
      * Performs a Depth-First Search (DFS) traversal to discover all friends connected to a user.
+     * The relations only hold accepted friendships, so every edge is followed without querying the network, and the
+     * traversal uses an explicit stack so that long chains of friends cannot overflow the call stack.
      *
      * @param uid the user identifier to start the traversal from
      * @param seen a set to keep track of seen users to avoid cycles
      * @param communityUsers a list to store users that are part of the same community
      */
     private void dfsTraversal(String uid, Set<String> seen, List<String> communityUsers) {
-        for (String friendId : relations.get(uid)) {
-            if (!seen.contains(friendId) && network.isFriendship(uid, friendId)) {
-                seen.add(friendId);
-                communityUsers.add(friendId);
-                dfsTraversal(friendId, seen, communityUsers);
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(uid);
+
+        while (!stack.isEmpty()) {
+            String currentUid = stack.pop();
+            for (String friendId : relations.getOrDefault(currentUid, List.of())) {
+                if (seen.add(friendId)) {
+                    communityUsers.add(friendId);
+                    stack.push(friendId);
+                }
             }
         }
     }
@@ -89,10 +96,6 @@ public class Community {
             }
         }
 
-        return largestCommunityUsers.stream()
-                .map(network::findUser)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        return network.findUsers(largestCommunityUsers);
     }
 }
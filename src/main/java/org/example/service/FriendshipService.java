@@ -1,9 +1,14 @@
 package org.example.service;
 
 import org.example.models.Friendship;
+import org.example.models.FriendshipStatus;
 import org.example.models.Tuple;
+import org.example.repository.FriendshipRepository;
 import org.example.repository.Repository;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Specialized service class for performing operations on friendship relationships between users via repository.
  */
@@ -17,4 +22,67 @@ public class FriendshipService extends AbstractService<Tuple<String>, Friendship
     public FriendshipService(Repository<Tuple<String>, Friendship> repository) {
         super(repository);
     }
+
+    /**
+     * Finds all the friendships of a user, accepted or pending, in the order they were requested.
+     *
+     * @param uid the identifier of the user
+     * @return an iterable collection of the friendships of the user
+     */
+    public Iterable<Friendship> findByUser(String uid) {
+        return repository.unwrap(FriendshipRepository.class).findByUser(uid);
+    }
+
+    /**
+     * Finds the friendships of a user having the specified status from the point of view of that user.
+     *
+     * @param uid the identifier of the user
+     * @param status the status of the friendships to be retrieved
+     * @return an iterable collection of the matching friendships
+     */
+    public Iterable<Friendship> findByUser(String uid, FriendshipStatus status) {
+        return repository.unwrap(FriendshipRepository.class).findByUser(uid, status);
+    }
+
+    /**
+     * Finds the friendship between two users, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return an {@link Optional} containing the friendship between the two users, or an empty {@code Optional} if
+     *         there is none
+     */
+    public Optional<Friendship> findBetween(String uid1, String uid2) {
+        return repository.unwrap(FriendshipRepository.class).findBetween(uid1, uid2);
+    }
+
+    /**
+     * Checks whether two users are friends, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return {@code true} if an accepted friendship exists between the two users, otherwise {@code false}
+     */
+    public boolean existsAccepted(String uid1, String uid2) {
+        return repository.unwrap(FriendshipRepository.class).existsAccepted(uid1, uid2);
+    }
+
+    /**
+     * Retrieves the accepted friendships as a lazily populated stream.
+     *
+     * @return a stream of the accepted friendships, which must be closed to release its resources
+     */
+    public Stream<Friendship> streamAccepted() {
+        return repository.unwrap(FriendshipRepository.class).streamAccepted();
+    }
+
+    /**
+     * Deletes all the friendships of a user, whichever of the two users sent the request.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted friendships
+     */
+    public int deleteByUser(String uid) {
+        return repository.unwrap(FriendshipRepository.class).deleteByUser(uid);
+    }
 }
@@ -1,8 +1,12 @@
 package org.example.service;
 
 import org.example.models.Message;
+import org.example.repository.MessageRepository;
 import org.example.repository.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Specialized service class for performing operations on messages between users via repository.
  */
@@ -16,4 +20,68 @@ public class MessageService extends AbstractService<String, Message> {
     public MessageService(Repository<String, Message> repository) {
         super(repository);
     }
+
+    /**
+     * Retrieves all messages sent from a user to another, in the order they were sent.
+     *
+     * @param senderId the identifier of the sender
+     * @param receiverId the identifier of the receiver
+     * @return an iterable collection of the sent messages
+     */
+    public Iterable<Message> getSent(String senderId, String receiverId) {
+        return repository.unwrap(MessageRepository.class).getSent(senderId, receiverId);
+    }
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, preceding the specified message in the order of
+     * their dates, then of their identifiers.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @param before the date of the message the returned messages precede, or {@code null} to start from the latest
+     *               message
+     * @param beforeId the identifier of the message the returned messages precede, or {@code null} to return only the
+     *                 messages sent before its date
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     */
+    public List<Message> findConversation(String uid1, String uid2, LocalDateTime before, String beforeId,
+                                          int limit) {
+        return repository.unwrap(MessageRepository.class).findConversation(uid1, uid2, before, beforeId, limit);
+    }
+
+    /**
+     * Retrieves the most recent messages exchanged between two users, sent at or after the specified date.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @param since the date the returned messages were sent at or after, or {@code null} to start from the first
+     *              message
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the messages, most recent first
+     */
+    public List<Message> findConversationSince(String uid1, String uid2, LocalDateTime since, int limit) {
+        return repository.unwrap(MessageRepository.class).findConversationSince(uid1, uid2, since, limit);
+    }
+
+    /**
+     * Deletes all the messages sent or received by a user.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted messages
+     */
+    public int deleteByUser(String uid) {
+        return repository.unwrap(MessageRepository.class).deleteByUser(uid);
+    }
+
+    /**
+     * Deletes all the messages exchanged between two users.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return the number of deleted messages
+     */
+    public int deleteConversation(String uid1, String uid2) {
+        return repository.unwrap(MessageRepository.class).deleteConversation(uid1, uid2);
+    }
 }
@@ -1,16 +1,27 @@
 package org.example.service;
 
+import org.example.database.UnitOfWork;
 import org.example.exceptions.EntityAlreadyExistsException;
 import org.example.models.*;
 import org.example.models.Observable;
 import org.example.models.Observer;
+import org.example.models.dtos.ProfileSnapshotDTO;
+import org.example.models.dtos.UserDeletionDTO;
 import org.example.models.dtos.UserFilterDTO;
 import org.example.repository.database.UserDatabaseRepository;
+import org.example.service.cache.ConversationCache;
+import org.example.service.cache.UserSearchCache;
+import org.example.utils.AsyncUtils;
+import org.example.utils.Config;
 import org.example.utils.Paging.Page;
 import org.example.utils.Paging.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -33,6 +44,15 @@ public class Network implements Observable {
     // Store observers to notify when an update occurs
     List<Observer> observers;
 
+    // Executor the observers are notified on
+    private Executor observerExecutor = Runnable::run;
+
+    // Latest messages of the recently read conversations
+    private final ConversationCache conversationCache;
+
+    // Users matching the recent user searches
+    private final UserSearchCache userSearchCache;
+
     /**
      * Constructs a new Network with the specified services..
      *
@@ -49,7 +69,12 @@ public class Network implements Observable {
         this.friendshipService = friendshipService;
         this.messageService = messageService;
         this.notificationService = notificationService;
-        observers = new ArrayList<>();
+        observers = new CopyOnWriteArrayList<>();
+        conversationCache = new ConversationCache((MessageService) messageService,
+                Config.DEFAULT_CONVERSATION_CACHE_SIZE, Config.DEFAULT_CHAT_PAGE_SIZE,
+                Config.DEFAULT_CONVERSATION_CACHE_TTL, Config.DEFAULT_CONVERSATION_REFRESH_OVERLAP);
+        userSearchCache = new UserSearchCache((UserService) userService, Config.DEFAULT_USER_SEARCH_CACHE_SIZE,
+                Config.DEFAULT_USER_SEARCH_CACHE_CANDIDATES, Config.DEFAULT_USER_SEARCH_CACHE_TTL);
     }
 
     /**
@@ -76,13 +101,24 @@ public class Network implements Observable {
 
     /**
      * Notifies all registered observers that the observable's state has changed.
-     * This method will trigger the {@code update} method on each observer.
+     * This method will trigger the {@code update} method on each observer, once the changes are committed if a
+     * {@link UnitOfWork} is active.
      *
      * @param arg an argument passed by the observable, providing information about the change
      */
     @Override
     public void notifyObservers(Object arg) {
-        observers.forEach(o -> o.update(this, arg));
+        UnitOfWork.afterCommit(() -> observerExecutor.execute(() -> observers.forEach(o -> o.update(this, arg))));
+    }
+
+    /**
+     * Sets the executor the observers are notified on, such as the thread of the user interface when operations of the
+     * network run asynchronously. By default observers are notified on the thread performing the change.
+     *
+     * @param observerExecutor the executor the observers are notified on
+     */
+    public void setObserverExecutor(Executor observerExecutor) {
+        this.observerExecutor = Objects.requireNonNull(observerExecutor);
     }
 
     /**
@@ -96,6 +132,16 @@ public class Network implements Observable {
         return userService.findById(id);
     }
 
+    /**
+     * Finds the users with the specified identifiers in a single lookup.
+     *
+     * @param ids the identifiers of the users to find
+     * @return an iterable collection of the users found, in the order of their identifiers
+     */
+    public Iterable<User> findUsers(Collection<String> ids) {
+        return userService.findAllById(ids);
+    }
+
     /**
      * Adds a new user to the network.
      *
@@ -104,34 +150,38 @@ public class Network implements Observable {
      *         system
      */
     public Optional<User> addUser(User user) {
-        notifyObservers(user);
-        return userService.save(user);
+        Optional<User> savedUser = userService.save(user);
+        savedUser.ifPresent(saved -> {
+            userSearchCache.invalidateAll();
+            notifyObservers(saved);
+        });
+        return savedUser;
     }
 
     /**
-     * Deletes a user from the network and all associated friendships.
+     * Deletes a user from the network together with their friendships, messages and notifications.
+     * Everything is deleted in a single transaction, with one statement per table, and observers receive a
+     * {@link UserDeletionDTO} holding the number of deleted entities once the transaction is committed.
      *
      * @param uid the identifier of the user to be deleted
      * @return an {@link Optional} containing the user with the specified ID, or an empty {@code Optional} if no user is
      *         found
      */
     public Optional<User> deleteUser(String uid) {
-        StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> friendship.containsUser(uid))
-                .forEach(friendship -> friendshipService.deleteById(friendship.getId()));
-
-        StreamSupport.stream(notificationService.findAll().spliterator(), false)
-                .filter(notification -> Objects.equals(notification.getUserId(), uid))
-                .forEach(notification -> deleteNotification(notification.getId()));
-
-        StreamSupport.stream(messageService.findAll().spliterator(), false)
-                .filter(message -> Objects.equals(message.getReceiverId(), uid) ||
-                        Objects.equals(message.getSenderId(), uid))
-                .forEach(message -> deleteMessage(message.getId()));
+        return UnitOfWork.execute(() -> {
+            int deletedFriendships = ((FriendshipService) friendshipService).deleteByUser(uid);
+            int deletedMessages = ((MessageService) messageService).deleteByUser(uid);
+            if (deletedMessages > 0) {
+                conversationCache.invalidateAll();
+            }
+            int deletedNotifications = ((NotificationService) notificationService).deleteByUser(uid);
 
-        Optional<User> deletedUser = userService.deleteById(uid);
-        notifyObservers(deletedUser);
-        return deletedUser;
+            Optional<User> deletedUser = userService.deleteById(uid);
+            userSearchCache.invalidateAll();
+            deletedUser.ifPresent(user -> notifyObservers(
+                    new UserDeletionDTO(user, deletedFriendships, deletedMessages, deletedNotifications)));
+            return deletedUser;
+        });
     }
 
     /**
@@ -141,8 +191,12 @@ public class Network implements Observable {
      * @return an {@link Optional} containing the updated user, or an empty {@code Optional} if no user is found
      */
     public Optional<User> updateUser(User user) {
-        notifyObservers(user);
-        return userService.update(user);
+        Optional<User> updatedUser = userService.update(user);
+        updatedUser.ifPresent(updated -> {
+            userSearchCache.invalidateAll();
+            notifyObservers(updated);
+        });
+        return updatedUser;
     }
 
     /**
@@ -170,14 +224,10 @@ public class Network implements Observable {
      * @return an iterable collection of {@link User} objects representing the user's friends
      */
     public Iterable<User> getFriendsOfUser(String uid) {
-        return StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> friendship.containsUser(uid) && !friendship.isPending())
+        Iterable<Friendship> friendships = ((FriendshipService) friendshipService).findByUser(uid, FriendshipStatus.ACCEPTED);
+        return findUsers(StreamSupport.stream(friendships.spliterator(), false)
                 .map(friendship -> friendship.getFriendIdOfUser(uid))
-                .map(userService::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .distinct()
-                .collect(Collectors.toList());
+                .toList());
     }
 
     /**
@@ -188,13 +238,10 @@ public class Network implements Observable {
      *         requests to
      */
     public Iterable<User> getSentRequestsOfUser(String uid) {
-        return StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> Objects.equals(friendship.getSenderId(), uid) && friendship.isPending())
+        Iterable<Friendship> friendships = ((FriendshipService) friendshipService).findByUser(uid, FriendshipStatus.SENT);
+        return findUsers(StreamSupport.stream(friendships.spliterator(), false)
                 .map(friendship -> friendship.getFriendIdOfUser(uid))
-                .map(userService::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+                .toList());
     }
 
     /**
@@ -205,13 +252,59 @@ public class Network implements Observable {
      *         user
      */
     public Iterable<User> getReceivedRequestsOfUser(String uid) {
-        return StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> Objects.equals(friendship.getReceiverId(), uid) && friendship.isPending())
+        Iterable<Friendship> friendships = ((FriendshipService) friendshipService).findByUser(uid, FriendshipStatus.RECEIVED);
+        return findUsers(StreamSupport.stream(friendships.spliterator(), false)
                 .map(friendship -> friendship.getFriendIdOfUser(uid))
-                .map(userService::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+                .toList());
+    }
+
+    /**
+     * Gets the friends, sent requests and received requests of a specific user at once.
+     * The friendships of the user are read with a single indexed query and the users involved with a single lookup, so
+     * the cost depends on the number of friendships of the user rather than on the size of the network.
+     *
+     * @param uid the identifier of the user whose profile to retrieve
+     * @return the friends and pending requests of the user, each in the order they were requested
+     */
+    public ProfileSnapshotDTO getProfileSnapshot(String uid) {
+        List<Friendship> friendships = new ArrayList<>();
+        ((FriendshipService) friendshipService).findByUser(uid).forEach(friendships::add);
+
+        Map<String, User> users = new HashMap<>();
+        findUsers(friendships.stream()
+                .map(friendship -> friendship.getFriendIdOfUser(uid))
+                .toList())
+                .forEach(user -> users.put(user.getId(), user));
+
+        List<User> friends = new ArrayList<>();
+        List<User> sentRequests = new ArrayList<>();
+        List<User> receivedRequests = new ArrayList<>();
+        for (Friendship friendship : friendships) {
+            User friend = users.get(friendship.getFriendIdOfUser(uid));
+            if (friend == null) {
+                continue;
+            }
+
+            if (FriendshipStatus.ACCEPTED.matches(friendship, uid)) {
+                friends.add(friend);
+            } else if (FriendshipStatus.SENT.matches(friendship, uid)) {
+                sentRequests.add(friend);
+            } else {
+                receivedRequests.add(friend);
+            }
+        }
+
+        return new ProfileSnapshotDTO(friends, sentRequests, receivedRequests);
+    }
+
+    /**
+     * Gets the friends, sent requests and received requests of a specific user asynchronously.
+     *
+     * @param uid the identifier of the user whose profile to retrieve
+     * @return a future completed with the result of {@link #getProfileSnapshot(String)}
+     */
+    public CompletableFuture<ProfileSnapshotDTO> getProfileSnapshotAsync(String uid) {
+        return AsyncUtils.supplyAsync(() -> getProfileSnapshot(uid));
     }
 
     /**
@@ -226,76 +319,89 @@ public class Network implements Observable {
         friendshipService.save(senderToReceiver);
     }
 
+    /**
+     * Finds the friendship between two users, whichever of them sent the request.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @return an {@link Optional} containing the friendship between the two users, or an empty {@code Optional} if
+     *         there is none
+     */
     public Optional<Friendship> findFriendship(String uid1, String uid2) {
-        return friendshipService.findById(new Tuple<>(uid1, uid2));
+        return friendshipService.findById(Friendship.key(uid1, uid2));
     }
 
     /**
      * Sends a friend request from one user to another.
+     * If the receiver already sent a request to the sender, that request is accepted instead.
      *
      * @param senderId the identifier of the user sending the friend request
      * @param receiverId the identifier of the user receiving the friend request
      * @throws EntityAlreadyExistsException if friend request is already sent or friend already exists
      */
     public void sendFriendRequest(String senderId, String receiverId) throws EntityAlreadyExistsException {
-        boolean alreadyExists = findFriendship(senderId, receiverId).isPresent();
-        if (alreadyExists) {
-            throw new EntityAlreadyExistsException("Request already sent");
-        }
-
-        StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> friendship.containsUser(senderId) &&
-                        friendship.containsUser(receiverId) &&
-                        friendship.isPending())
-                .findFirst()
-                .ifPresentOrElse(
-                        pendingFriendship -> {
-                            friendshipService.deleteById(pendingFriendship.getId());
-                            makeFriendship(senderId, receiverId);
-                        },
-                        () -> {
-                            Friendship request = new Friendship(senderId, receiverId);
-                            friendshipService.save(request);
-                            notifyObservers(request);
-
-                            Optional<User> sender = findUser(senderId);
-                            if (sender.isEmpty()) {
-                                throw new RuntimeException("Sender does not exist");
-                            }
-
-                            String notificationDescription = "Request from " + sender.get().getEmail();
-                            Notification notification = new Notification(notificationDescription, receiverId);
-                            notificationService.save(notification);
-                            notifyObservers(notification);
-                        }
-                );
-    }
-
-    /**
-     * Deletes a friend request between two users.
+        UnitOfWork.run(() -> {
+            Optional<Friendship> existingFriendship = findFriendship(senderId, receiverId);
+            if (existingFriendship.isPresent()) {
+                Friendship friendship = existingFriendship.get();
+                if (!friendship.isPending()) {
+                    throw new EntityAlreadyExistsException("Friendship already exists");
+                }
+                if (Objects.equals(friendship.getSenderId(), senderId)) {
+                    throw new EntityAlreadyExistsException("Request already sent");
+                }
+
+                friendship.setPending(false);
+                friendship.setDate(LocalDateTime.now());
+                friendshipService.update(friendship);
+                notifyObservers(friendship);
+                return;
+            }
+
+            Friendship request = new Friendship(senderId, receiverId);
+            if (friendshipService.save(request).isEmpty()) {
+                // A request between the two users was saved concurrently
+                throw new EntityAlreadyExistsException("Request already sent");
+            }
+            notifyObservers(request);
+
+            Optional<User> sender = findUser(senderId);
+            if (sender.isEmpty()) {
+                throw new RuntimeException("Sender does not exist");
+            }
+
+            String notificationDescription = "Request from " + sender.get().getEmail();
+            Notification notification = new Notification(notificationDescription, receiverId);
+            notificationService.save(notification);
+            notifyObservers(notification);
+        });
+    }
+
+    /**
+     * Deletes a friend request between two users, together with the messages they exchanged.
+     * Everything is deleted in a single transaction, with one statement per table, and observers are notified once the
+     * transaction is committed.
      *
      * @param senderId the identifier of the user who sent the request
      * @param receiverId the identifier of the user who received the request
      */
     public void deleteFriendRequest(String senderId, String receiverId) {
-        StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .filter(friendship -> friendship.containsUser(senderId) &&
-                        friendship.containsUser(receiverId))
-                .forEach(friendship -> {
-                    friendshipService.deleteById(friendship.getId());
-                    notifyObservers(friendship);
-                });
+        UnitOfWork.run(() -> {
+            Optional<Friendship> request = ((FriendshipService) friendshipService).findBetween(senderId, receiverId);
+            request.ifPresent(friendship -> friendshipService.deleteById(friendship.getId()));
 
-        StreamSupport.stream(messageService.findAll().spliterator(), false)
-                .filter(message -> (Objects.equals(message.getSenderId(), senderId) && Objects.equals(message.getReceiverId(), receiverId)) ||
-                        (Objects.equals(message.getSenderId(), receiverId) && Objects.equals(message.getReceiverId(), senderId)))
-                .forEach(
-                        message -> {
-                            messageService.deleteById(message.getId());
-                            notifyObservers(message);
-                        }
-                );
+            int deletedMessages = ((MessageService) messageService).deleteConversation(senderId, receiverId);
+            if (deletedMessages > 0) {
+                conversationCache.invalidate(senderId, receiverId);
+            }
 
+            // Observers reload everything they display, so a single event covers the request and the conversation
+            if (request.isPresent()) {
+                notifyObservers(request.get());
+            } else if (deletedMessages > 0) {
+                notifyObservers(Friendship.key(senderId, receiverId));
+            }
+        });
     }
 
     /**
@@ -306,25 +412,34 @@ public class Network implements Observable {
      * @return {@code true} if a friendship exists and is not pending, otherwise {@code false}
      */
     public boolean isFriendship(String senderId, String receiverId) {
-        return StreamSupport.stream(friendshipService.findAll().spliterator(), false)
-                .anyMatch(friendship -> friendship.containsUser(senderId) &&
-                        friendship.containsUser(receiverId) &&
-                        !friendship.isPending());
+        return ((FriendshipService) friendshipService).existsAccepted(senderId, receiverId);
     }
 
     /**
      * Retrieves a map of user relations, where each user identifier maps to a list of their friends' identifiers.
      *
+     * The map is built in a single pass over the users and a single pass over the accepted friendships; users without
+     * friends are mapped to an empty list.
+     *
      * @return a map of user identifiers to their respective lists of friend identifiers
      */
     public Map<String, List<String>> getRelations() {
-        return StreamSupport.stream(getAllUsers().spliterator(), false)
-                .collect(HashMap::new, (map, user) -> map.put(
-                        user.getId(),
-                        StreamSupport.stream(getFriendsOfUser(user.getId()).spliterator(), false)
-                                .map(User::getId)
-                                .toList()
-                ), HashMap::putAll);
+        Map<String, List<String>> relations = new HashMap<>();
+
+        try (Stream<User> users = userService.streamAll()) {
+            users.forEach(user -> relations.put(user.getId(), new ArrayList<>()));
+        }
+
+        try (Stream<Friendship> friendships = ((FriendshipService) friendshipService).streamAccepted()) {
+            friendships.forEach(friendship -> {
+                relations.computeIfAbsent(friendship.getSenderId(), uid -> new ArrayList<>())
+                        .add(friendship.getReceiverId());
+                relations.computeIfAbsent(friendship.getReceiverId(), uid -> new ArrayList<>())
+                        .add(friendship.getSenderId());
+            });
+        }
+
+        return relations;
     }
 
     /**
@@ -335,9 +450,17 @@ public class Network implements Observable {
      *         no user is found
      */
     public Optional<User> findUserByEmail(String email) {
-        return StreamSupport.stream(getAllUsers().spliterator(), false)
-                .filter(u -> Objects.equals(u.getEmail(), email))
-                .findFirst();
+        return ((UserService) userService).findByEmail(email);
+    }
+
+    /**
+     * Finds a user by their email address asynchronously.
+     *
+     * @param email the email address of the user to find
+     * @return a future completed with the result of {@link #findUserByEmail(String)}
+     */
+    public CompletableFuture<Optional<User>> findUserByEmailAsync(String email) {
+        return AsyncUtils.supplyAsync(() -> findUserByEmail(email));
     }
 
     /**
@@ -357,10 +480,7 @@ public class Network implements Observable {
      * @return an iterable collection of all sent from a user to another
      */
     public Iterable<Message> getSentMessages(String senderId, String receiverId) {
-        return StreamSupport.stream(this.getAllMessages().spliterator(), false)
-                .filter(message -> Objects.equals(message.getSenderId(), senderId) &&
-                        Objects.equals(message.getReceiverId(), receiverId))
-                .collect(Collectors.toList());
+        return ((MessageService) messageService).getSent(senderId, receiverId);
     }
 
     /**
@@ -371,14 +491,57 @@ public class Network implements Observable {
      * @return an iterable collection of all messages between two users
      */
     public Iterable<Message> getChat(String uid1, String uid2) {
-        List<Message> sentMessages = StreamSupport.stream(this.getSentMessages(uid1, uid2).spliterator(), false)
-                .collect(Collectors.toList());
-        List<Message> recvMessages = StreamSupport.stream(this.getSentMessages(uid2, uid1).spliterator(), false)
-                .toList();
+        return getChat(uid1, uid2, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves a page of the messages between two users, in the order they were sent.
+     * The page holds the latest messages preceding the cursor; the page preceding it is retrieved by passing the date
+     * and identifier of its first message as the cursor, until a page holding fewer than {@code limit} messages is
+     * returned. Messages sent at the same date are ordered by identifier, so none of them is skipped between pages.
+     * The latest page is served from the {@link ConversationCache}, which only queries the messages sent since the
+     * conversation was last read.
+     *
+     * @param uid1 the unique identifier of the {@link User}
+     * @param uid2 the unique identifier of the {@link User}
+     * @param cursor the date of the message the returned messages precede, or {@code null} to retrieve the latest
+     *               messages
+     * @param cursorId the identifier of the message the returned messages precede, or {@code null} to retrieve only
+     *                 the messages sent before the cursor date
+     * @param limit the maximum number of messages on the page
+     * @return a list of the messages on the page, oldest first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public List<Message> getChat(String uid1, String uid2, LocalDateTime cursor, String cursorId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        if (cursor == null) {
+            return conversationCache.getLatest(uid1, uid2, limit);
+        }
 
-        sentMessages.addAll(recvMessages);
-        sentMessages.sort(Comparator.comparing(Message::getDate));
-        return sentMessages;
+        List<Message> messages = new ArrayList<>(
+                ((MessageService) messageService).findConversation(uid1, uid2, cursor, cursorId, limit));
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    /**
+     * Retrieves a page of the messages between two users asynchronously.
+     *
+     * @param uid1 the unique identifier of the {@link User}
+     * @param uid2 the unique identifier of the {@link User}
+     * @param cursor the date of the message the returned messages precede, or {@code null} to retrieve the latest
+     *               messages
+     * @param cursorId the identifier of the message the returned messages precede, or {@code null} to retrieve only
+     *                 the messages sent before the cursor date
+     * @param limit the maximum number of messages on the page
+     * @return a future completed with the result of {@link #getChat(String, String, LocalDateTime, String, int)}
+     */
+    public CompletableFuture<List<Message>> getChatAsync(String uid1, String uid2, LocalDateTime cursor,
+                                                         String cursorId, int limit) {
+        return AsyncUtils.supplyAsync(() -> getChat(uid1, uid2, cursor, cursorId, limit));
     }
 
     /**
@@ -399,29 +562,54 @@ public class Network implements Observable {
      * @return an {@link Optional} containing the saved message
      */
     public Optional<Message> addMessage(Message message) {
-        Optional<User> senderUser = findUser(message.getSenderId());
-        if (senderUser.isEmpty()) {
-            throw new RuntimeException("Sender does not exist");
-        }
+        return UnitOfWork.execute(() -> {
+            Optional<User> senderUser = findUser(message.getSenderId());
+            if (senderUser.isEmpty()) {
+                throw new RuntimeException("Sender does not exist");
+            }
 
-        String notificationDescription = "Message from " + senderUser.get().getEmail();
-        Notification notification = new Notification(notificationDescription, message.getReceiverId());
-        notificationService.save(notification);
-        notifyObservers(notification);
+            String notificationDescription = "Message from " + senderUser.get().getEmail();
+            Notification notification = new Notification(notificationDescription, message.getReceiverId());
+            notificationService.save(notification);
+            notifyObservers(notification);
+
+            notifyObservers(message);
+            Optional<Message> savedMessage = messageService.save(message);
+            savedMessage.ifPresent(conversationCache::append);
+            return savedMessage;
+        });
+    }
 
-        notifyObservers(message);
-        return messageService.save(message);
+    /**
+     * Adds a new message to the network asynchronously.
+     *
+     * @param message the {@link Message} to be added
+     * @return a future completed with the result of {@link #addMessage(Message)}
+     */
+    public CompletableFuture<Optional<Message>> addMessageAsync(Message message) {
+        return AsyncUtils.supplyAsync(() -> addMessage(message));
     }
 
     /**
      * Updates an existing message's information.
+     * The conversation the message belonged to and the one it belongs to now are invalidated once the update is
+     * committed, and observers are notified last.
      *
      * @param message the message with updated information
      * @return an {@link Optional} containing the updated message, or an empty {@code Optional} if no message is found
      */
     public Optional<Message> updateMessage(Message message) {
-        notifyObservers(message);
-        return messageService.update(message);
+        return UnitOfWork.execute(() -> {
+            Optional<Message> previousMessage = messageService.findById(message.getId());
+            Optional<Message> updatedMessage = messageService.update(message);
+            updatedMessage.ifPresent(updated -> {
+                previousMessage.ifPresent(previous ->
+                        conversationCache.invalidate(previous.getSenderId(), previous.getReceiverId()));
+                conversationCache.invalidate(updated.getSenderId(), updated.getReceiverId());
+                notifyObservers(updated);
+            });
+            return updatedMessage;
+        });
     }
 
     /**
@@ -433,6 +621,8 @@ public class Network implements Observable {
      */
     public Optional<Message> deleteMessage(String id) {
         Optional<Message> deletedMessage = messageService.deleteById(id);
+        deletedMessage.ifPresent(
+                message -> conversationCache.invalidate(message.getSenderId(), message.getReceiverId()));
         notifyObservers(deletedMessage);
         return deletedMessage;
     }
@@ -493,16 +683,53 @@ public class Network implements Observable {
         return notificationService.findAll();
     }
 
+    /**
+     * Deletes multiple notifications from the network at once, notifying the observers a single time.
+     *
+     * @param ids the identifiers of the notifications to be deleted
+     * @return the number of deleted notifications
+     */
+    public int deleteNotifications(Collection<String> ids) {
+        int deletedNotifications = notificationService.deleteAllById(ids);
+        notifyObservers(deletedNotifications);
+        return deletedNotifications;
+    }
+
     /**
      * Returns all notifications for a specficied user by its identifier.
      *
      * @param uid the unique identifier of the user
-     * @return a list of notifications for the user
+     * @return a list of notifications for the user, most recent first
      */
     public Iterable<Notification> getUserNotifications(String uid) {
-        return StreamSupport.stream(getAllNotifications().spliterator(), false)
-                .filter(notification -> Objects.equals(notification.getUserId(), uid))
-                .collect(Collectors.toList());
+        return getUserNotifications(uid, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Returns the most recent notifications for a specified user by its identifier.
+     *
+     * @param uid the unique identifier of the user
+     * @param limit the maximum number of notifications to be returned
+     * @param since the date the returned notifications were created after, or {@code null} to return them regardless
+     *              of their date
+     * @return a list of notifications for the user, most recent first
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public List<Notification> getUserNotifications(String uid, int limit, LocalDateTime since) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return ((NotificationService) notificationService).findByUser(uid, limit, since);
+    }
+
+    /**
+     * Counts the unread notifications for a specified user by its identifier, without reading the notifications.
+     *
+     * @param uid the unique identifier of the user
+     * @return the number of unread notifications for the user
+     */
+    public int countUnreadNotifications(String uid) {
+        return ((NotificationService) notificationService).countUnreadByUser(uid);
     }
 
     /**
@@ -517,12 +744,14 @@ public class Network implements Observable {
 
     /**
      * Retrieves a paginated list of users along with the total number of matching users.
+     * Searches matching few users are served from the {@link UserSearchCache}, which also answers the searches
+     * refining them, such as the next keystrokes of a type-ahead search, without querying the database.
      *
      * @param pageable the pagination details
      * @param filter the filter criteria for querying users
      * @return a page containing the list of users and the total count of matching users
      */
     public Page<User> findAllUsersOnPage(Pageable pageable, UserFilterDTO filter) {
-        return ((UserService) userService).findAllOnPage(pageable, filter);
+        return userSearchCache.findOnPage(pageable, filter);
     }
 }
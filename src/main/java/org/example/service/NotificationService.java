@@ -1,8 +1,12 @@
 package org.example.service;
 
 import org.example.models.Notification;
+import org.example.repository.NotificationRepository;
 import org.example.repository.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Specialized service class for performing operations on notifications sent to users via repository.
  */
@@ -16,4 +20,37 @@ public class NotificationService extends AbstractService<String, Notification> {
     public NotificationService(Repository<String, Notification> repository) {
         super(repository);
     }
+
+    /**
+     * Retrieves the most recent notifications of a user.
+     *
+     * @param uid the identifier of the user
+     * @param limit the maximum number of notifications to be retrieved
+     * @param since the date the returned notifications were created after, or {@code null} to retrieve them regardless
+     *              of their date
+     * @return a list of the notifications, most recent first
+     */
+    public List<Notification> findByUser(String uid, int limit, LocalDateTime since) {
+        return repository.unwrap(NotificationRepository.class).findByUser(uid, limit, since);
+    }
+
+    /**
+     * Counts the unread notifications of a user.
+     *
+     * @param uid the identifier of the user
+     * @return the number of unread notifications of the user
+     */
+    public int countUnreadByUser(String uid) {
+        return repository.unwrap(NotificationRepository.class).countUnreadByUser(uid);
+    }
+
+    /**
+     * Deletes all the notifications of a user.
+     *
+     * @param uid the identifier of the user
+     * @return the number of deleted notifications
+     */
+    public int deleteByUser(String uid) {
+        return repository.unwrap(NotificationRepository.class).deleteByUser(uid);
+    }
 }
@@ -1,12 +1,19 @@
 package org.example.service;
 
 import org.example.models.Entity;
+import org.example.utils.AsyncUtils;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * A generic service interface for managing operations between User Interface (UI) and Repository.
  *
+ * Every blocking operation has an asynchronous counterpart returning a {@link CompletableFuture}, run on a virtual
+ * thread through {@link AsyncUtils}, so that independent operations can run in parallel and be composed.
+ *
  * @param <ID> the type of the unique identifier for the entity
  * @param <E> the type of the entity that extends {@link Entity} and is managed by the service and repository
  */
@@ -21,6 +28,15 @@ public interface Service<ID, E extends Entity<ID>> {
      */
     Optional<E> findById(ID id);
 
+    /**
+     * Finds the entities with the specified unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return an iterable collection of the entities found, in the order of their first identifier occurrence;
+     *         identifiers with no entity are skipped
+     */
+    Iterable<E> findAllById(Collection<ID> ids);
+
     /**
      * Retrieves all entities managed by the repository.
      *
@@ -28,6 +44,14 @@ public interface Service<ID, E extends Entity<ID>> {
      */
     Iterable<E> findAll();
 
+    /**
+     * Retrieves all entities managed by the repository as a lazily populated stream.
+     * The stream holds resources until it is closed, so it should be used in a try-with-resources statement.
+     *
+     * @return a stream of all entities in the repository
+     */
+    Stream<E> streamAll();
+
     /**
      * Saves a new entity or updates an existing entity in the repository.
      *
@@ -53,4 +77,87 @@ public interface Service<ID, E extends Entity<ID>> {
      * @return an {@link Optional} containing the updated entity
      */
     Optional<E> update(E entity);
+
+    /**
+     * Saves multiple new entities in the repository in a single operation.
+     *
+     * @param entities the entities to be saved
+     * @return the number of saved entities
+     */
+    int saveAll(Iterable<E> entities);
+
+    /**
+     * Deletes multiple entities by their unique identifiers in a single operation.
+     *
+     * @param ids the unique identifiers of the entities to be deleted
+     * @return the number of deleted entities
+     */
+    int deleteAllById(Iterable<ID> ids);
+
+    /**
+     * Updates multiple existing entities in the repository in a single operation.
+     *
+     * @param entities the entities with updated data
+     * @return the number of updated entities
+     */
+    int updateAll(Iterable<E> entities);
+
+    /**
+     * Finds an entity by its unique identifier asynchronously.
+     *
+     * @param id the unique identifier of the entity to be retrieved
+     * @return a future completed with the result of {@link #findById(Object)}
+     */
+    default CompletableFuture<Optional<E>> findByIdAsync(ID id) {
+        return AsyncUtils.supplyAsync(() -> findById(id));
+    }
+
+    /**
+     * Finds the entities with the specified unique identifiers asynchronously.
+     *
+     * @param ids the unique identifiers of the entities to be retrieved
+     * @return a future completed with the result of {@link #findAllById(Collection)}
+     */
+    default CompletableFuture<Iterable<E>> findAllByIdAsync(Collection<ID> ids) {
+        return AsyncUtils.supplyAsync(() -> findAllById(ids));
+    }
+
+    /**
+     * Retrieves all entities managed by the repository asynchronously.
+     *
+     * @return a future completed with the result of {@link #findAll()}
+     */
+    default CompletableFuture<Iterable<E>> findAllAsync() {
+        return AsyncUtils.supplyAsync(this::findAll);
+    }
+
+    /**
+     * Saves a new entity in the repository asynchronously.
+     *
+     * @param entity the entity to be saved
+     * @return a future completed with the result of {@link #save(Entity)}
+     */
+    default CompletableFuture<Optional<E>> saveAsync(E entity) {
+        return AsyncUtils.supplyAsync(() -> save(entity));
+    }
+
+    /**
+     * Deletes an entity by its unique identifier asynchronously.
+     *
+     * @param id the unique identifier of the entity to be deleted
+     * @return a future completed with the result of {@link #deleteById(Object)}
+     */
+    default CompletableFuture<Optional<E>> deleteByIdAsync(ID id) {
+        return AsyncUtils.supplyAsync(() -> deleteById(id));
+    }
+
+    /**
+     * Updates an existing entity in the repository asynchronously.
+     *
+     * @param entity the entity with updated data
+     * @return a future completed with the result of {@link #update(Entity)}
+     */
+    default CompletableFuture<Optional<E>> updateAsync(E entity) {
+        return AsyncUtils.supplyAsync(() -> update(entity));
+    }
 }
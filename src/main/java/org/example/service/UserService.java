@@ -3,10 +3,13 @@ package org.example.service;
 import org.example.models.User;
 import org.example.models.dtos.UserFilterDTO;
 import org.example.repository.Repository;
+import org.example.repository.UserRepository;
 import org.example.repository.database.UserDatabaseRepository;
 import org.example.utils.Paging.Page;
 import org.example.utils.Paging.Pageable;
 
+import java.util.Optional;
+
 /**
  * Specialized service class for performing operations on users via repository.
  */
@@ -21,6 +24,17 @@ public class UserService extends AbstractService<String, User> {
         super(repository);
     }
 
+    /**
+     * Finds a user by their email address.
+     *
+     * @param email the email address of the user
+     * @return an {@link Optional} containing the user with the specified email address, or an empty {@code Optional}
+     *         if no user is found
+     */
+    public Optional<User> findByEmail(String email) {
+        return repository.unwrap(UserRepository.class).findByEmail(email);
+    }
+
     /**
      * Retrieves a paginated list of all users without applying any filter criteria.
      *
@@ -28,7 +42,16 @@ public class UserService extends AbstractService<String, User> {
      * @return a page containing all users for the specified pagination
      */
     public Page<User> findAllOnPage(Pageable pageable) {
-        return ((UserDatabaseRepository) repository).findAllOnPage(pageable);
+        return repository.unwrap(UserDatabaseRepository.class).findAllOnPage(pageable);
+    }
+
+    /**
+     * Checks whether searches list the most relevant users first, rather than ordering them by name.
+     *
+     * @return {@code true} if search results are ordered by relevance, otherwise {@code false}
+     */
+    public boolean isSearchRelevanceOrdered() {
+        return repository.unwrap(UserDatabaseRepository.class).isSearchRelevanceOrdered();
     }
 
     /**
@@ -39,6 +62,6 @@ public class UserService extends AbstractService<String, User> {
      * @return a page containing the list of users and the total count of matching users
      */
     public Page<User> findAllOnPage(Pageable pageable, UserFilterDTO filter) {
-        return ((UserDatabaseRepository) repository).findAllOnPage(pageable, filter);
+        return repository.unwrap(UserDatabaseRepository.class).findAllOnPage(pageable, filter);
     }
 }
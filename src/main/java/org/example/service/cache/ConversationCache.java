@@ -0,0 +1,249 @@
+package org.example.service.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.Friendship;
+import org.example.models.Message;
+import org.example.models.Tuple;
+import org.example.repository.cache.SegmentedLruCache;
+import org.example.service.MessageService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of the most recent messages of each conversation, keyed by the unordered pair of users exchanging them.
+ *
+ * The first read of a conversation loads its latest messages; every following read only queries the messages sent
+ * since the newest cached one, so refreshing an open chat costs as much as the messages sent in the meantime rather
+ * than its whole history. The refresh reaches back a short overlap before the newest cached message, so that messages
+ * committed late by another application are still picked up. Messages sent through this application are appended to
+ * their conversation once committed, while changed or deleted messages invalidate it. An appended message is replaced
+ * by the stored one as soon as a refresh returns a message of the same sender with the same text, so that a message
+ * stored under another identifier than the one it was sent with is not shown twice. Conversations not read recently
+ * are evicted, and older history is always read from the database.
+ */
+public class ConversationCache {
+
+    // The service the conversations are read from
+    private final MessageService messageService;
+
+    // Maximum number of most recent messages kept per conversation
+    private final int tailSize;
+
+    // Time (in milliseconds) the refresh of a conversation reaches back before its newest cached message
+    private final long refreshOverlap;
+
+    // The most recent messages of each cached conversation
+    private final SegmentedLruCache<Tuple<String>, ConversationTail> conversations;
+
+    /**
+     * Constructs a new ConversationCache.
+     *
+     * @param messageService the service the conversations are read from
+     * @param maxConversations the maximum number of conversations kept in the cache
+     * @param tailSize the maximum number of most recent messages kept per conversation
+     * @param timeToLive the time (in milliseconds) after which a conversation is read again from the start, or 0 if
+     *                   conversations never expire
+     * @param refreshOverlap the time (in milliseconds) the refresh of a conversation reaches back before its newest
+     *                       cached message
+     * @throws IllegalArgumentException if the number of conversations or messages is not positive
+     */
+    public ConversationCache(MessageService messageService, int maxConversations, int tailSize, long timeToLive,
+                             long refreshOverlap) {
+        if (tailSize <= 0) {
+            throw new IllegalArgumentException("Number of cached messages must be positive");
+        }
+
+        this.messageService = messageService;
+        this.tailSize = tailSize;
+        this.refreshOverlap = refreshOverlap;
+        this.conversations = new SegmentedLruCache<>(maxConversations, timeToLive);
+    }
+
+    /**
+     * Retrieves the latest messages exchanged between two users.
+     * Requests for more messages than the cache keeps per conversation, as well as requests made within a
+     * {@link UnitOfWork}, are read from the database.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     * @param limit the maximum number of messages to be retrieved
+     * @return a list of the latest messages, oldest first
+     */
+    public List<Message> getLatest(String uid1, String uid2, int limit) {
+        if (limit > tailSize || UnitOfWork.isActive()) {
+            List<Message> messages = new ArrayList<>(messageService.findConversation(uid1, uid2, null, null, limit));
+            Collections.reverse(messages);
+            return messages;
+        }
+
+        Tuple<String> key = Friendship.key(uid1, uid2);
+        Optional<ConversationTail> cached = conversations.get(key);
+        if (cached.isPresent()) {
+            ConversationTail tail = cached.get();
+            tail.merge(messageService.findConversationSince(uid1, uid2, tail.refreshSince(), tailSize));
+            return tail.latest(limit);
+        }
+
+        ConversationTail tail = new ConversationTail();
+        tail.merge(messageService.findConversation(uid1, uid2, null, null, tailSize));
+        conversations.put(key, tail);
+        return tail.latest(limit);
+    }
+
+    /**
+     * Appends a message to its conversation once the current unit of work commits, if the conversation is cached.
+     *
+     * @param message the sent message
+     */
+    public void append(Message message) {
+        UnitOfWork.afterCommit(() -> conversations.get(Friendship.key(message.getSenderId(), message.getReceiverId()))
+                .ifPresent(tail -> tail.append(message)));
+    }
+
+    /**
+     * Removes the conversation between two users from the cache, now and again once the current unit of work commits.
+     *
+     * @param uid1 the identifier of the first user
+     * @param uid2 the identifier of the second user
+     */
+    public void invalidate(String uid1, String uid2) {
+        Tuple<String> key = Friendship.key(uid1, uid2);
+        conversations.invalidate(key);
+        UnitOfWork.afterCommit(() -> conversations.invalidate(key));
+    }
+
+    /**
+     * Removes all the conversations from the cache, now and again once the current unit of work commits.
+     */
+    public void invalidateAll() {
+        conversations.invalidateAll();
+        UnitOfWork.afterCommit(conversations::invalidateAll);
+    }
+
+    /**
+     * The most recent messages of a conversation, oldest first.
+     */
+    private final class ConversationTail {
+
+        // The cached messages, oldest first
+        private final List<Message> messages = new ArrayList<>();
+
+        // Identifiers of the cached messages
+        private final Set<String> messageIds = new HashSet<>();
+
+        // Identifiers of the cached messages appended after being sent, and not returned by a refresh yet
+        private final Set<String> appendedIds = new HashSet<>();
+
+        /**
+         * Returns the date the next refresh of the conversation starts from.
+         *
+         * @return the date of the newest cached message minus the refresh overlap, or {@code null} if no message is
+         *         cached
+         */
+        synchronized LocalDateTime refreshSince() {
+            return messages.isEmpty()
+                    ? null
+                    : messages.getLast().getDate().minusNanos(refreshOverlap * 1_000_000);
+        }
+
+        /**
+         * Adds the messages not cached yet, keeping the messages ordered by date, then by identifier as the database
+         * orders them, and dropping the oldest ones over the size of the tail.
+         * If as many messages as the tail holds were sent since the last refresh, they replace the cached ones, since
+         * messages sent in between may be missing. Appended messages the refreshed ones turn out to be are replaced.
+         *
+         * @param recentMessages the most recent messages of the conversation, in any order
+         */
+        synchronized void merge(List<Message> recentMessages) {
+            if (recentMessages.size() >= tailSize) {
+                messages.clear();
+                messageIds.clear();
+                appendedIds.clear();
+            }
+
+            for (Message message : recentMessages) {
+                if (!appendedIds.remove(message.getId()) && !messageIds.contains(message.getId())) {
+                    removeAppended(message);
+                }
+            }
+            add(recentMessages);
+        }
+
+        /**
+         * Adds a message sent through this application, until a refresh returns it as it was stored.
+         *
+         * @param message the sent message
+         */
+        synchronized void append(Message message) {
+            if (add(List.of(message))) {
+                appendedIds.add(message.getId());
+            }
+        }
+
+        /**
+         * Adds the messages not cached yet, keeping the messages ordered and the tail within its size.
+         *
+         * @param newMessages the messages to be added, in any order
+         * @return {@code true} if a message was added and is still cached, otherwise {@code false}
+         */
+        private boolean add(List<Message> newMessages) {
+            boolean added = false;
+            for (Message message : newMessages) {
+                if (messageIds.add(message.getId())) {
+                    messages.add(message);
+                    added = true;
+                }
+            }
+            if (!added) {
+                return false;
+            }
+
+            messages.sort(Comparator.comparing(Message::getDate).thenComparing(Message::getId));
+            while (messages.size() > tailSize) {
+                String removedId = messages.removeFirst().getId();
+                messageIds.remove(removedId);
+                appendedIds.remove(removedId);
+            }
+            return newMessages.stream().anyMatch(message -> messageIds.contains(message.getId()));
+        }
+
+        /**
+         * Removes the appended messages sent by the same user to the same user with the same text as a stored message,
+         * since the stored message may be one of them saved under another identifier.
+         *
+         * @param stored the message returned by a refresh
+         */
+        private void removeAppended(Message stored) {
+            Iterator<Message> iterator = messages.iterator();
+            while (iterator.hasNext()) {
+                Message cached = iterator.next();
+                if (appendedIds.contains(cached.getId())
+                        && cached.getSenderId().equals(stored.getSenderId())
+                        && cached.getReceiverId().equals(stored.getReceiverId())
+                        && cached.getMessage().equals(stored.getMessage())) {
+                    iterator.remove();
+                    messageIds.remove(cached.getId());
+                    appendedIds.remove(cached.getId());
+                }
+            }
+        }
+
+        /**
+         * Returns the latest cached messages.
+         *
+         * @param limit the maximum number of messages to be returned
+         * @return a copy of the latest cached messages, oldest first
+         */
+        synchronized List<Message> latest(int limit) {
+            return new ArrayList<>(messages.subList(Math.max(0, messages.size() - limit), messages.size()));
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package org.example.service.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.User;
+import org.example.models.dtos.UserFilterDTO;
+import org.example.repository.cache.SegmentedLruCache;
+import org.example.service.UserService;
+import org.example.utils.Paging.Page;
+import org.example.utils.Paging.Pageable;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cache of the users matching the recent user searches, serving type-ahead searches without querying the database
+ * on every keystroke.
+ *
+ * Searches are cached by their normalized search terms. Searches matching at most a bounded number of users cache all
+ * of them. Since every term is matched as a case-insensitive substring, a search whose terms extend the terms of such
+ * a search, as typing "joh" after "jo" does, matches a subset of its users, so it is answered by filtering them in
+ * memory. Cached results are ordered like the database orders search results: by the sum of the trigram similarities
+ * between each searched column and its term, then by name, or only by name when the database cannot order searches
+ * by relevance. Searches matching more users cache only their first users and the total, which serve the first pages
+ * of the search but cannot be refined; the following pages, as well as browsing without search terms, are read from
+ * the database page by page.
+ *
+ * Users are mutable, so the cache keeps copies of the users it reads and hands out new copies on every page.
+ *
+ * Results are invalidated whenever a user is changed through the network, and expire after a short time to live so
+ * that users changed by another application show up.
+ */
+public class UserSearchCache {
+
+    // The service the searches are read from
+    private final UserService userService;
+
+    // Maximum number of users a search may match to be cached
+    private final int maxCandidates;
+
+    // The users matching each cached search
+    private final SegmentedLruCache<SearchKey, Candidates> searches;
+
+    // Order of the users among equally relevant ones, matching the page order of the database
+    private static final Comparator<User> NAME_ORDER = Comparator
+            .comparing((User user) -> normalize(user.getLastName()))
+            .thenComparing(user -> normalize(user.getFirstName()))
+            .thenComparing(User::getId);
+
+    /**
+     * Constructs a new UserSearchCache.
+     *
+     * @param userService the service the searches are read from
+     * @param maxSearches the maximum number of searches kept in the cache
+     * @param maxCandidates the maximum number of users a search may match to be cached
+     * @param timeToLive the time (in milliseconds) after which a cached search is read again, or 0 if cached searches
+     *                   never expire
+     * @throws IllegalArgumentException if the number of searches or users is not positive
+     */
+    public UserSearchCache(UserService userService, int maxSearches, int maxCandidates, long timeToLive) {
+        if (maxCandidates <= 0) {
+            throw new IllegalArgumentException("Number of cached users per search must be positive");
+        }
+
+        this.userService = userService;
+        this.maxCandidates = maxCandidates;
+        this.searches = new SegmentedLruCache<>(maxSearches, timeToLive);
+    }
+
+    /**
+     * Retrieves a page of the users matching the filter, from the cache when the search or a search it refines is
+     * cached.
+     *
+     * @param pageable the pagination details
+     * @param filter the filter criteria for querying users; can be null
+     * @return a page containing the list of users and the total count of matching users
+     */
+    public Page<User> findOnPage(Pageable pageable, UserFilterDTO filter) {
+        if (filter == null || filter.isEmpty() || pageable.isKeyset() || UnitOfWork.isActive()) {
+            return userService.findAllOnPage(pageable, filter);
+        }
+
+        SearchKey key = SearchKey.of(filter);
+        Candidates candidates = findCandidates(key).orElseGet(() -> readCandidates(key, filter));
+        return candidates.page(pageable).orElseGet(() -> userService.findAllOnPage(pageable, filter));
+    }
+
+    /**
+     * Removes all the searches from the cache, now and again once the current unit of work commits.
+     */
+    public void invalidateAll() {
+        searches.invalidateAll();
+        UnitOfWork.afterCommit(searches::invalidateAll);
+    }
+
+    /**
+     * Finds the users matching a search from the cache, either cached for the search itself or filtered from a
+     * cached search it refines.
+     * The refined searches looked up are the ones obtained by removing trailing characters from one of the terms,
+     * which covers typing in one search field at a time. Only searches whose matching users are all cached are
+     * refined.
+     *
+     * @param key the normalized terms of the search
+     * @return an {@link Optional} containing the users matching the search, or an empty {@code Optional} if neither
+     *         the search nor a search it refines is cached
+     */
+    Optional<Candidates> findCandidates(SearchKey key) {
+        Optional<Candidates> cached = searches.get(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        for (Column column : Column.values()) {
+            String term = column.term(key);
+            if (term == null) {
+                continue;
+            }
+
+            for (int length = term.length() - 1; length >= 0; length--) {
+                SearchKey parentKey = column.withTerm(key, length == 0 ? null : term.substring(0, length));
+                Optional<Candidates> parent = searches.get(parentKey).filter(Candidates::complete);
+                if (parent.isPresent()) {
+                    Candidates candidates = Candidates.all(sort(parent.get().users().stream()
+                            .filter(key::matches)
+                            .toList(), key));
+                    searches.put(key, candidates);
+                    return Optional.of(candidates);
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the first users matching a search from the database and caches them.
+     * As many users as may be cached are read, which holds all the matching users of narrow searches and serves the
+     * first pages of broader ones.
+     *
+     * @param key the normalized terms of the search
+     * @param filter the filter criteria for querying users
+     * @return the users matching the search
+     */
+    private Candidates readCandidates(SearchKey key, UserFilterDTO filter) {
+        Page<User> firstUsers = userService.findAllOnPage(new Pageable(0, maxCandidates), filter);
+        List<User> users = StreamSupport.stream(firstUsers.getElementsOnPage().spliterator(), false)
+                .map(User::copy)
+                .toList();
+
+        // The users are read in the order of the search results
+        boolean complete = users.size() < maxCandidates
+                || !firstUsers.isApproximate() && firstUsers.getTotalNumberOfElements() <= maxCandidates;
+        Candidates candidates = complete
+                ? Candidates.all(users)
+                : new Candidates(users, firstUsers.getTotalNumberOfElements(), firstUsers.isApproximate(), false);
+        searches.put(key, candidates);
+        return candidates;
+    }
+
+    /**
+     * Orders the users matching a search like the database orders its results: by relevance, then by name, or only by
+     * name if the database does not order searches by relevance.
+     *
+     * @param users the users matching the search
+     * @param key the normalized terms of the search
+     * @return the ordered users
+     */
+    private List<User> sort(List<User> users, SearchKey key) {
+        if (!userService.isSearchRelevanceOrdered()) {
+            return users.stream().sorted(NAME_ORDER).toList();
+        }
+
+        Map<User, Double> relevance = new IdentityHashMap<>();
+        users.forEach(user -> relevance.put(user, key.relevance(user)));
+
+        return users.stream()
+                .sorted(Comparator.comparingDouble((User user) -> -relevance.get(user)).thenComparing(NAME_ORDER))
+                .toList();
+    }
+
+    /**
+     * Normalizes a search term or a searched value, which are matched case-insensitively.
+     *
+     * @param text the text to be normalized; can be null
+     * @return the trimmed lower case text, or an empty string if the text is null
+     */
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes the trigram similarity between two texts, as {@code pg_trgm} does: the number of trigrams the texts
+     * share divided by the number of distinct trigrams of both texts.
+     *
+     * @param text the first text
+     * @param otherText the second text
+     * @return the similarity, between 0 and 1
+     */
+    static double similarity(String text, String otherText) {
+        Set<String> trigrams = trigrams(text);
+        Set<String> otherTrigrams = trigrams(otherText);
+        if (trigrams.isEmpty() || otherTrigrams.isEmpty()) {
+            return 0;
+        }
+
+        long sharedTrigrams = trigrams.stream().filter(otherTrigrams::contains).count();
+        return (double) sharedTrigrams / (trigrams.size() + otherTrigrams.size() - sharedTrigrams);
+    }
+
+    /**
+     * Extracts the trigrams of a text, as {@code pg_trgm} does: every word of letters and digits is padded with two
+     * spaces before and one space after it.
+     *
+     * @param text the normalized text
+     * @return the distinct trigrams of the text
+     */
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            String paddedWord = "  " + word + " ";
+            for (int i = 0; i + 3 <= paddedWord.length(); i++) {
+                trigrams.add(paddedWord.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * The searchable columns of users.
+     */
+    private enum Column {
+        FIRST_NAME(User::getFirstName),
+        LAST_NAME(User::getLastName),
+        EMAIL(User::getEmail);
+
+        // Reads the value of the column from a user
+        private final Function<User, String> value;
+
+        Column(Function<User, String> value) {
+            this.value = value;
+        }
+
+        /**
+         * Returns the term of the column in a search.
+         *
+         * @param key the normalized terms of the search
+         * @return the term of the column, or {@code null} if the column is not searched
+         */
+        String term(SearchKey key) {
+            return switch (this) {
+                case FIRST_NAME -> key.firstName();
+                case LAST_NAME -> key.lastName();
+                case EMAIL -> key.email();
+            };
+        }
+
+        /**
+         * Returns a search with the term of the column replaced.
+         *
+         * @param key the normalized terms of the search
+         * @param term the new term of the column, or {@code null} not to search the column
+         * @return the normalized terms of the new search
+         */
+        SearchKey withTerm(SearchKey key, String term) {
+            return switch (this) {
+                case FIRST_NAME -> new SearchKey(term, key.lastName(), key.email());
+                case LAST_NAME -> new SearchKey(key.firstName(), term, key.email());
+                case EMAIL -> new SearchKey(key.firstName(), key.lastName(), term);
+            };
+        }
+    }
+
+    /**
+     * The normalized terms of a search, each {@code null} if its column is not searched.
+     *
+     * @param firstName the term matched against the first names
+     * @param lastName the term matched against the last names
+     * @param email the term matched against the emails
+     */
+    record SearchKey(String firstName, String lastName, String email) {
+
+        /**
+         * Normalizes the terms of a filter.
+         *
+         * @param filter the filter criteria for querying users
+         * @return the normalized terms of the filter
+         */
+        static SearchKey of(UserFilterDTO filter) {
+            return new SearchKey(term(filter.getFirstName()), term(filter.getLastName()), term(filter.getEmail()));
+        }
+
+        /**
+         * Normalizes a single term of a filter.
+         *
+         * @param filter the optional term
+         * @return the normalized term, or {@code null} if the term is missing or blank
+         */
+        private static String term(Optional<String> filter) {
+            return filter.map(UserSearchCache::normalize).filter(term -> !term.isEmpty()).orElse(null);
+        }
+
+        /**
+         * Checks whether a user matches every term of the search.
+         *
+         * @param user the user to be checked
+         * @return {@code true} if every searched column of the user contains its term, otherwise {@code false}
+         */
+        boolean matches(User user) {
+            for (Column column : Column.values()) {
+                String term = column.term(this);
+                if (term != null && !normalize(column.value.apply(user)).contains(term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Measures how closely a user matches the search.
+         *
+         * @param user the user to be measured
+         * @return the sum of the trigram similarities between each searched column of the user and its term
+         */
+        double relevance(User user) {
+            double relevance = 0;
+            for (Column column : Column.values()) {
+                String term = column.term(this);
+                if (term != null) {
+                    relevance += similarity(normalize(column.value.apply(user)), term);
+                }
+            }
+            return relevance;
+        }
+    }
+
+    /**
+     * The cached users matching a search, in the order of its results.
+     *
+     * @param users the first users matching the search, or all of them if the search is complete
+     * @param total the number of users matching the search
+     * @param approximate whether the number of users is an estimate rather than an exact count
+     * @param complete whether all the users matching the search are cached
+     */
+    record Candidates(List<User> users, int total, boolean approximate, boolean complete) {
+
+        /**
+         * Creates the candidates of a search holding all of its matching users.
+         *
+         * @param users all the users matching the search, in order
+         * @return the complete candidates of the search
+         */
+        static Candidates all(List<User> users) {
+            return new Candidates(users, users.size(), false, true);
+        }
+
+        /**
+         * Returns a page of copies of the users matching the search, if it is cached.
+         *
+         * @param pageable the pagination details
+         * @return an {@link Optional} containing the page, or an empty {@code Optional} if the page reaches past the
+         *         cached users of an incomplete search
+         */
+        Optional<Page<User>> page(Pageable pageable) {
+            long offset = (long) pageable.getPageNumber() * pageable.getPageSize();
+            long end = offset + pageable.getPageSize();
+            if (!complete && end > users.size()) {
+                return Optional.empty();
+            }
+
+            int fromIndex = (int) Math.min(offset, users.size());
+            int toIndex = (int) Math.min(end, users.size());
+            List<User> usersOnPage = users.subList(fromIndex, toIndex).stream().map(User::copy).toList();
+            return Optional.of(new Page<>(usersOnPage, total, null, approximate));
+        }
+    }
+}
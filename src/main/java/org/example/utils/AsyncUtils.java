@@ -0,0 +1,84 @@
+package org.example.utils;
+
+import org.example.database.DatabaseConnection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for running blocking operations asynchronously.
+ *
+ * Every task runs on its own virtual thread, so blocking on the database does not hold a platform thread, while a
+ * semaphore bounds the number of tasks running at the same time to the configured maximum size of the connection pool,
+ * so that parallel lookups wait for a permit instead of timing out while waiting for a connection.
+ * Tasks run outside of the caller's {@link org.example.database.UnitOfWork}, each in its own transaction.
+ */
+public class AsyncUtils {
+
+    // Executor starting a new virtual thread for every task
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Limits the number of tasks running at the same time, or null until the first task runs
+    private static volatile Semaphore permits;
+
+    /**
+     * Runs the specified operation asynchronously on a virtual thread.
+     *
+     * @param operation the operation to be run
+     * @return a future completed with the result of the operation, or exceptionally with the exception it threw
+     * @param <T> the type of the result of the operation
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            Semaphore semaphore = permits();
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+
+            try {
+                return operation.get();
+            } finally {
+                semaphore.release();
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Runs the specified operation asynchronously on a virtual thread.
+     *
+     * @param operation the operation to be run
+     * @return a future completed once the operation is done, or exceptionally with the exception it threw
+     */
+    public static CompletableFuture<Void> runAsync(Runnable operation) {
+        return supplyAsync(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the semaphore bounding the number of tasks running at the same time, sizing it from the connection pool
+     * the first time it is needed, so that it follows the pool size configured through the environment.
+     *
+     * @return the semaphore with as many permits as the connection pool holds connections
+     */
+    private static Semaphore permits() {
+        Semaphore semaphore = permits;
+        if (semaphore == null) {
+            synchronized (AsyncUtils.class) {
+                if (permits == null) {
+                    permits = new Semaphore(DatabaseConnection.getInstance().getPool().getMaxSize(), true);
+                }
+                semaphore = permits;
+            }
+        }
+        return semaphore;
+    }
+}
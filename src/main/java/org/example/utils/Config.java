@@ -15,4 +15,63 @@ public class Config {
 
     // Constant representing the name of the file used to store friendship relations
     public static final String DEFAULT_LOCAL_FRIENDSHIP_STORAGE = "friendshipData";
+
+    // Default minimum number of idle database connections kept open by the connection pool
+    public static final int DEFAULT_POOL_MIN_SIZE = 2;
+
+    // Default maximum number of database connections borrowed at the same time
+    public static final int DEFAULT_POOL_MAX_SIZE = 10;
+
+    // Default time (in milliseconds) to wait for a free database connection
+    public static final long DEFAULT_POOL_BORROW_TIMEOUT = 5_000;
+
+    // Default time (in milliseconds) after which an idle database connection is closed
+    public static final long DEFAULT_POOL_IDLE_TIMEOUT = 300_000;
+
+    // Default time (in milliseconds) after which a borrowed database connection is reported as leaked
+    public static final long DEFAULT_POOL_LEAK_THRESHOLD = 60_000;
+
+    // Default number of prepared statements cached per pooled database connection
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    // Default maximum number of statements sent to the database in a single batch
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // Default number of rows fetched from the database at once when streaming query results
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    // Default number of estimated rows above which a paged search reports the planner estimate instead of an exact
+    // count (0 always counts exactly)
+    public static final long DEFAULT_APPROXIMATE_COUNT_THRESHOLD = 0;
+
+    // Default number of chat messages loaded at once when opening or scrolling back through a conversation
+    public static final int DEFAULT_CHAT_PAGE_SIZE = 50;
+
+    // Default maximum number of most recent notifications displayed at once
+    public static final int DEFAULT_NOTIFICATION_PAGE_SIZE = 100;
+
+    // Default maximum number of users kept in the user cache
+    public static final int DEFAULT_USER_CACHE_SIZE = 10_000;
+
+    // Default time (in milliseconds) after which a cached user is read again from the database
+    public static final long DEFAULT_USER_CACHE_TTL = 300_000;
+
+    // Default maximum number of conversations whose latest messages are kept in memory
+    public static final int DEFAULT_CONVERSATION_CACHE_SIZE = 1_000;
+
+    // Default time (in milliseconds) after which a cached conversation is read again from the database
+    public static final long DEFAULT_CONVERSATION_CACHE_TTL = 300_000;
+
+    // Default time (in milliseconds) the refresh of a cached conversation reaches back before its newest message, to
+    // pick up messages committed late by another application
+    public static final long DEFAULT_CONVERSATION_REFRESH_OVERLAP = 5_000;
+
+    // Default maximum number of user searches whose matching users are kept in memory
+    public static final int DEFAULT_USER_SEARCH_CACHE_SIZE = 100;
+
+    // Default maximum number of users a search may match for its results to be kept in memory
+    public static final int DEFAULT_USER_SEARCH_CACHE_CANDIDATES = 200;
+
+    // Default time (in milliseconds) after which a cached user search is read again from the database
+    public static final long DEFAULT_USER_SEARCH_CACHE_TTL = 30_000;
 }
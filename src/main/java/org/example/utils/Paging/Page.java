@@ -5,9 +5,25 @@ public class Page<E> {
     private final Iterable<E> elementsOnPage;
     private final int totalNumberOfElements;
 
+    // Cursor of the following page in keyset mode, or null if this is the last page
+    private final String nextCursor;
+
+    // Whether the total number of elements is an estimate rather than an exact count
+    private final boolean approximate;
+
     public Page(Iterable<E> elementsOnPage, int totalNumberOfElements) {
+        this(elementsOnPage, totalNumberOfElements, null);
+    }
+
+    public Page(Iterable<E> elementsOnPage, int totalNumberOfElements, String nextCursor) {
+        this(elementsOnPage, totalNumberOfElements, nextCursor, false);
+    }
+
+    public Page(Iterable<E> elementsOnPage, int totalNumberOfElements, String nextCursor, boolean approximate) {
         this.elementsOnPage = elementsOnPage;
         this.totalNumberOfElements = totalNumberOfElements;
+        this.nextCursor = nextCursor;
+        this.approximate = approximate;
     }
 
     public Iterable<E> getElementsOnPage() {
@@ -17,4 +33,12 @@ public class Page<E> {
     public int getTotalNumberOfElements() {
         return totalNumberOfElements;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
 }
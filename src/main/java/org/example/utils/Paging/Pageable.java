@@ -5,9 +5,31 @@ public class Pageable {
     private final int pageNumber;
     private final int pageSize;
 
+    // Position after which the page starts, used instead of the page number in keyset mode
+    private final String cursor;
+    private final boolean keyset;
+
     public Pageable(int pageNumber, int pageSize) {
         this.pageNumber = pageNumber;
         this.pageSize = pageSize;
+        this.cursor = null;
+        this.keyset = false;
+    }
+
+    /**
+     * Creates a pageable in keyset mode, where the page starts right after the position encoded in the cursor instead
+     * of skipping {@code pageNumber * pageSize} elements.
+     *
+     * @param pageNumber the number of the requested page, kept for display purposes
+     * @param pageSize the maximum number of elements on the page
+     * @param cursor the cursor returned as {@link Page#getNextCursor()} by the previous page, or {@code null} for the
+     *               first page
+     */
+    public Pageable(int pageNumber, int pageSize, String cursor) {
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.cursor = cursor;
+        this.keyset = true;
     }
 
     public int getPageNumber() {
@@ -17,4 +39,12 @@ public class Pageable {
     public int getPageSize() {
         return pageSize;
     }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isKeyset() {
+        return keyset;
+    }
 }
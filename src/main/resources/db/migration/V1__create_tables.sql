@@ -0,0 +1,31 @@
+-- Tables used by the database repositories
+CREATE TABLE IF NOT EXISTS users (
+    id         UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS friendships (
+    uid1    UUID      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    uid2    UUID      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    date    TIMESTAMP NOT NULL,
+    pending BOOLEAN   NOT NULL DEFAULT TRUE,
+    PRIMARY KEY (uid1, uid2)
+);
+
+CREATE TABLE IF NOT EXISTS messages (
+    id         UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    sid        UUID      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    rid        UUID      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    plain_text TEXT      NOT NULL,
+    date       TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id          UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    description TEXT      NOT NULL,
+    date        TIMESTAMP NOT NULL,
+    uid         UUID      NOT NULL REFERENCES users (id) ON DELETE CASCADE
+);
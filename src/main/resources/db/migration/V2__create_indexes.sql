@@ -0,0 +1,15 @@
+-- Login and duplicate detection look users up by email
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_idx ON users (email);
+
+-- Keyset pagination seeks through users in this order
+CREATE INDEX IF NOT EXISTS users_name_idx ON users (last_name, first_name, id);
+
+-- Friends and requests of a user, whichever side of the friendship the user is on
+CREATE INDEX IF NOT EXISTS friendships_uid1_idx ON friendships (uid1);
+CREATE INDEX IF NOT EXISTS friendships_uid2_idx ON friendships (uid2);
+
+-- Messages sent from a user to another, in the order they were sent
+CREATE INDEX IF NOT EXISTS messages_sid_rid_date_idx ON messages (sid, rid, date);
+
+-- Notifications of a user, most recent first
+CREATE INDEX IF NOT EXISTS notifications_uid_date_idx ON notifications (uid, date);
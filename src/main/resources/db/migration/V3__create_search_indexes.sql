@@ -0,0 +1,15 @@
+-- Trigram indexes serving the case-insensitive substring searches on users
+-- The extension needs privileges the application role may lack, or may not be shipped with the server at all; in that
+-- case the migration still succeeds, and searches fall back to plain substring matching without relevance ordering
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+    CREATE INDEX IF NOT EXISTS users_first_name_trgm_idx ON users USING gin (first_name gin_trgm_ops);
+    CREATE INDEX IF NOT EXISTS users_last_name_trgm_idx ON users USING gin (last_name gin_trgm_ops);
+    CREATE INDEX IF NOT EXISTS users_email_trgm_idx ON users USING gin (email gin_trgm_ops);
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'Trigram search is not available: %', SQLERRM;
+END;
+$$;
@@ -0,0 +1,3 @@
+-- Messages received by a user, so that the messages a user sent or received can be looked up with
+-- "sid = ? OR rid = ?" through both indexes
+CREATE INDEX IF NOT EXISTS messages_rid_idx ON messages (rid);
@@ -0,0 +1,19 @@
+-- Store every pair of users once, under its canonical key (uid1 < uid2), with the direction of the request kept in
+-- sender_is_uid1, so that a friendship is found with a single primary key lookup whichever user sent the request
+ALTER TABLE friendships ADD COLUMN IF NOT EXISTS sender_is_uid1 BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Pairs stored in both directions keep a single row: the accepted one, otherwise the oldest request
+DELETE FROM friendships f
+USING friendships g
+WHERE f.uid1 = g.uid2
+  AND f.uid2 = g.uid1
+  AND (f.pending, f.date, f.uid1) > (g.pending, g.date, g.uid1);
+
+UPDATE friendships
+SET uid1 = uid2, uid2 = uid1, sender_is_uid1 = FALSE
+WHERE uid1 > uid2;
+
+ALTER TABLE friendships ALTER COLUMN sender_is_uid1 DROP DEFAULT;
+
+-- Together with the primary key, makes every pair of users unique regardless of who sent the request
+ALTER TABLE friendships ADD CONSTRAINT friendships_canonical_pair_check CHECK (uid1 < uid2);
@@ -0,0 +1,64 @@
+-- Number of notifications of every user, kept up to date by the triggers below, so that the notification badge is a
+-- single primary key lookup instead of a count over the notifications of the user
+CREATE TABLE IF NOT EXISTS notification_counters (
+    uid   UUID    PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    count INTEGER NOT NULL
+);
+
+INSERT INTO notification_counters (uid, count)
+SELECT uid, COUNT(*)
+FROM notifications
+GROUP BY uid
+ON CONFLICT (uid) DO UPDATE SET count = EXCLUDED.count;
+
+-- Statement level triggers update every counter once per statement, however many notifications it inserts or deletes
+CREATE OR REPLACE FUNCTION increment_notification_counters() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO notification_counters (uid, count)
+    SELECT uid, COUNT(*)
+    FROM inserted_notifications
+    GROUP BY uid
+    ON CONFLICT (uid) DO UPDATE SET count = notification_counters.count + EXCLUDED.count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION decrement_notification_counters() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE notification_counters c
+    SET count = c.count - d.count
+    FROM (SELECT uid, COUNT(*) AS count FROM deleted_notifications GROUP BY uid) d
+    WHERE c.uid = d.uid;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Notifications moved to another user are counted for their new user
+CREATE OR REPLACE FUNCTION move_notification_counter() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE notification_counters SET count = count - 1 WHERE uid = OLD.uid;
+    INSERT INTO notification_counters (uid, count)
+    VALUES (NEW.uid, 1)
+    ON CONFLICT (uid) DO UPDATE SET count = notification_counters.count + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS notifications_inserted ON notifications;
+CREATE TRIGGER notifications_inserted
+    AFTER INSERT ON notifications
+    REFERENCING NEW TABLE AS inserted_notifications
+    FOR EACH STATEMENT EXECUTE FUNCTION increment_notification_counters();
+
+DROP TRIGGER IF EXISTS notifications_deleted ON notifications;
+CREATE TRIGGER notifications_deleted
+    AFTER DELETE ON notifications
+    REFERENCING OLD TABLE AS deleted_notifications
+    FOR EACH STATEMENT EXECUTE FUNCTION decrement_notification_counters();
+
+DROP TRIGGER IF EXISTS notifications_moved ON notifications;
+CREATE TRIGGER notifications_moved
+    AFTER UPDATE OF uid ON notifications
+    FOR EACH ROW
+    WHEN (OLD.uid IS DISTINCT FROM NEW.uid)
+    EXECUTE FUNCTION move_notification_counter();
@@ -0,0 +1,162 @@
+package org.example.database;
+
+import org.example.database.FakeDatabase.FakeConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+
+    private final FakeDatabase database = FakeDatabase.create();
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(int minSize, int maxSize, long borrowTimeout, long idleTimeout) {
+        pool = new ConnectionPool(database.getUrl(), "user", "password", minSize, maxSize, borrowTimeout,
+                idleTimeout, 0, 0);
+        return pool;
+    }
+
+    @Test
+    void opensMinimumNumberOfConnections() {
+        newPool(2, 4, 100, 60_000);
+
+        assertEquals(2, pool.getIdleCount());
+        assertEquals(2, database.getConnections().size());
+    }
+
+    @Test
+    void borrowAndReleaseKeepPermitsBalanced() throws SQLException {
+        newPool(0, 2, 100, 60_000);
+
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        assertEquals(2, pool.getBorrowedCount());
+        assertEquals(0, pool.getIdleCount());
+
+        first.close();
+        first.close();
+        assertEquals(1, pool.getBorrowedCount());
+        assertEquals(1, pool.getIdleCount());
+
+        // The returned connection is reused, and closing a handle twice released a single permit
+        Connection third = pool.borrow();
+        assertEquals(2, database.getConnections().size());
+        assertThrows(SQLTimeoutException.class, pool::borrow);
+
+        second.close();
+        third.close();
+        assertEquals(0, pool.getBorrowedCount());
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    void closedHandleCannotBeUsed() throws SQLException {
+        newPool(0, 1, 100, 60_000);
+
+        Connection connection = pool.borrow();
+        connection.close();
+
+        assertTrue(connection.isClosed());
+        assertThrows(SQLException.class, connection::commit);
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        newPool(0, 1, 50, 60_000);
+
+        Connection connection = pool.borrow();
+        long start = System.currentTimeMillis();
+        assertThrows(SQLTimeoutException.class, pool::borrow);
+        assertTrue(System.currentTimeMillis() - start >= 50);
+
+        // The failed borrow does not hold a permit
+        connection.close();
+        pool.borrow().close();
+    }
+
+    @Test
+    void discardsConnectionsFailingValidation() throws SQLException {
+        newPool(0, 1, 100, 60_000);
+
+        pool.borrow().close();
+        FakeConnection broken = database.getConnections().get(0);
+        broken.valid = false;
+
+        pool.borrow().close();
+
+        assertTrue(broken.closed);
+        assertEquals(2, database.getConnections().size());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void rollsBackUnfinishedTransactionOnReturn() throws SQLException {
+        newPool(0, 1, 100, 60_000);
+
+        Connection connection = pool.borrow();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        FakeConnection physical = database.getConnections().get(0);
+        assertEquals(1, physical.rollbacks);
+        assertTrue(physical.autoCommit);
+        assertFalse(physical.closed);
+    }
+
+    @Test
+    void keepsAutoCommitConnectionsWithoutRollback() throws SQLException {
+        newPool(0, 1, 100, 60_000);
+
+        pool.borrow().close();
+
+        assertEquals(0, database.getConnections().get(0).rollbacks);
+    }
+
+    @Test
+    void evictsConnectionsIdleForTooLong() throws Exception {
+        newPool(1, 3, 100, 1);
+
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        Connection third = pool.borrow();
+        first.close();
+        second.close();
+        third.close();
+        assertEquals(3, pool.getIdleCount());
+
+        // Housekeeping runs every second and keeps the minimum number of connections
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.getIdleCount() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(2, database.getConnections().stream().filter(connection -> connection.closed).count());
+    }
+
+    @Test
+    void closingPoolClosesIdleConnections() throws SQLException {
+        newPool(2, 2, 100, 60_000);
+
+        pool.close();
+
+        assertTrue(database.getConnections().stream().allMatch(connection -> connection.closed));
+        assertThrows(SQLException.class, pool::borrow);
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * In-memory stand-in for a database, reachable through {@link DriverManager} under its own JDBC url.
+ * Connections and statements record the calls the tests assert on, and can be made to fail validation.
+ */
+class FakeDatabase {
+
+    // Databases by their JDBC url
+    private static final Map<String, FakeDatabase> DATABASES = new ConcurrentHashMap<>();
+
+    // Counter making every database url unique
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    static {
+        try {
+            DriverManager.registerDriver(new FakeDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // The JDBC url of the database
+    private final String url = "jdbc:fake:" + NEXT_ID.incrementAndGet();
+
+    // Physical connections opened to the database, in the order they were opened
+    private final List<FakeConnection> connections = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a new database, reachable through its own url.
+     *
+     * @return the new database
+     */
+    static FakeDatabase create() {
+        FakeDatabase database = new FakeDatabase();
+        DATABASES.put(database.url, database);
+        return database;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    List<FakeConnection> getConnections() {
+        return connections;
+    }
+
+    /**
+     * Physical connection recording its state and the statements prepared on it.
+     */
+    static class FakeConnection implements InvocationHandler {
+
+        final Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        final List<FakeStatement> statements = new CopyOnWriteArrayList<>();
+        volatile boolean valid = true;
+        volatile boolean closed = false;
+        volatile boolean autoCommit = true;
+        volatile int rollbacks = 0;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws SQLException {
+            switch (method.getName()) {
+                case "isValid":
+                    return valid && !closed;
+                case "isClosed":
+                    return closed;
+                case "close":
+                    closed = true;
+                    return null;
+                case "getAutoCommit":
+                    return autoCommit;
+                case "setAutoCommit":
+                    autoCommit = (boolean) args[0];
+                    return null;
+                case "rollback":
+                    rollbacks++;
+                    return null;
+                case "prepareStatement":
+                    FakeStatement statement = new FakeStatement((String) args[0]);
+                    statements.add(statement);
+                    return statement.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "FakeConnection";
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Prepared statement recording the calls resetting its state.
+     */
+    static class FakeStatement implements InvocationHandler {
+
+        final PreparedStatement proxy = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        final String sql;
+        volatile boolean closed = false;
+        volatile int fetchSize = 0;
+        volatile int clearedParameters = 0;
+        volatile int clearedBatches = 0;
+        volatile int clearedWarnings = 0;
+
+        FakeStatement(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "setFetchSize":
+                    fetchSize = (int) args[0];
+                    return null;
+                case "getFetchSize":
+                    return fetchSize;
+                case "clearParameters":
+                    clearedParameters++;
+                    return null;
+                case "clearBatch":
+                    clearedBatches++;
+                    return null;
+                case "clearWarnings":
+                    clearedWarnings++;
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "FakeStatement[" + sql + "]";
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Driver opening connections to the fake databases.
+     */
+    private static class FakeDriver implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            FakeDatabase database = DATABASES.get(url);
+            if (database == null) {
+                return null;
+            }
+
+            FakeConnection connection = new FakeConnection();
+            database.connections.add(connection);
+            return connection.proxy;
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return DATABASES.containsKey(url);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.database;
+
+import org.example.database.FakeDatabase.FakeConnection;
+import org.example.database.FakeDatabase.FakeStatement;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCacheTest {
+
+    private final FakeConnection connection = new FakeConnection();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final StatementCache cache = new StatementCache(connection.proxy, 2, hits, misses);
+
+    private PreparedStatement prepare(String sql) throws SQLException {
+        return cache.prepare(connection.proxy, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Test
+    void reusesStatementOnceClosed() throws SQLException {
+        prepare("SELECT 1").close();
+        PreparedStatement statement = prepare("SELECT 1");
+
+        assertEquals(1, connection.statements.size());
+        assertEquals(1, hits.get());
+        assertEquals(1, misses.get());
+        assertSame(connection.proxy, statement.getConnection());
+        assertFalse(connection.statements.get(0).closed);
+    }
+
+    @Test
+    void keysStatementsByGeneratedKeys() throws SQLException {
+        prepare("INSERT INTO t VALUES (1)").close();
+        cache.prepare(connection.proxy, "INSERT INTO t VALUES (1)", Statement.RETURN_GENERATED_KEYS).close();
+
+        assertEquals(2, connection.statements.size());
+        assertEquals(0, hits.get());
+
+        cache.prepare(connection.proxy, "INSERT INTO t VALUES (1)", Statement.RETURN_GENERATED_KEYS).close();
+        assertEquals(2, connection.statements.size());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedStatement() throws SQLException {
+        prepare("SELECT 1").close();
+        prepare("SELECT 2").close();
+        prepare("SELECT 1").close();
+        prepare("SELECT 3").close();
+
+        FakeStatement first = connection.statements.get(0);
+        FakeStatement second = connection.statements.get(1);
+        assertFalse(first.closed);
+        assertTrue(second.closed);
+
+        // The evicted statement is prepared again, the recently used one is not
+        prepare("SELECT 2").close();
+        prepare("SELECT 3").close();
+        assertEquals(4, connection.statements.size());
+        assertTrue(first.closed);
+    }
+
+    @Test
+    void closesEvictedStatementOnlyOnceReturned() throws SQLException {
+        PreparedStatement statement = prepare("SELECT 1");
+        prepare("SELECT 2").close();
+        prepare("SELECT 3").close();
+
+        FakeStatement evicted = connection.statements.get(0);
+        assertFalse(evicted.closed);
+
+        statement.close();
+        assertTrue(evicted.closed);
+    }
+
+    @Test
+    void handsOutUncachedStatementWhileCachedOneIsInUse() throws SQLException {
+        PreparedStatement statement = prepare("SELECT 1");
+        PreparedStatement other = prepare("SELECT 1");
+
+        assertEquals(2, connection.statements.size());
+        other.close();
+        assertTrue(connection.statements.get(1).closed);
+
+        statement.close();
+        assertFalse(connection.statements.get(0).closed);
+    }
+
+    @Test
+    void resetsStatementStateOnClose() throws SQLException {
+        PreparedStatement statement = prepare("SELECT 1");
+        statement.setFetchSize(500);
+        statement.close();
+
+        FakeStatement physical = connection.statements.get(0);
+        assertEquals(1, physical.clearedParameters);
+        assertEquals(1, physical.clearedBatches);
+        assertEquals(1, physical.clearedWarnings);
+        assertEquals(0, physical.fetchSize);
+    }
+
+    @Test
+    void closedHandleCannotBeUsed() throws SQLException {
+        PreparedStatement statement = prepare("SELECT 1");
+        statement.close();
+        statement.close();
+
+        assertTrue(statement.isClosed());
+        assertThrows(SQLException.class, statement::executeQuery);
+
+        // Closing the handle twice returned the statement once, so it is not handed out twice
+        prepare("SELECT 1");
+        prepare("SELECT 1");
+        assertEquals(2, connection.statements.size());
+    }
+}
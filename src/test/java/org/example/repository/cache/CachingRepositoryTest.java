@@ -0,0 +1,191 @@
+package org.example.repository.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.User;
+import org.example.repository.memory.InMemoryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingRepositoryTest {
+
+    private final CountingRepository delegate = new CountingRepository();
+
+    private final CachingRepository<String, User> repository = new CachingRepository<>(delegate, 10, 0, User::copy);
+
+    private User saveUser(String firstName) {
+        User user = new User(firstName, "Doe", "password", firstName.toLowerCase() + "@example.com");
+        delegate.save(user);
+        return user;
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCache() {
+        User user = saveUser("John");
+
+        repository.findOne(user.getId());
+        Optional<User> cached = repository.findOne(user.getId());
+
+        assertEquals(1, delegate.findOneCalls);
+        assertEquals(Optional.of(user.getId()), cached.map(User::getId));
+    }
+
+    @Test
+    void handsOutIndependentCopies() {
+        User user = saveUser("John");
+
+        User first = repository.findOne(user.getId()).orElseThrow();
+        first.setFirstName("Changed");
+        User second = repository.findOne(user.getId()).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals("John", second.getFirstName());
+
+        // Changing the entity read from the wrapped repository does not change the cached copy either
+        user.setFirstName("Also changed");
+        assertEquals("John", repository.findOne(user.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void readsOnlyMissingEntitiesInBulkLookups() {
+        User john = saveUser("John");
+        User jane = saveUser("Jane");
+        repository.findOne(john.getId());
+
+        List<User> users = new ArrayList<>();
+        repository.findAllById(List.of(john.getId(), jane.getId(), "missing")).forEach(users::add);
+
+        assertEquals(List.of(john.getId(), jane.getId()), users.stream().map(User::getId).toList());
+        assertEquals(List.of(List.of(jane.getId(), "missing")), delegate.findAllByIdCalls);
+
+        // The entities read in bulk are cached too
+        int findOneCalls = delegate.findOneCalls;
+        repository.findOne(jane.getId());
+        assertEquals(findOneCalls, delegate.findOneCalls);
+    }
+
+    @Test
+    void invalidatesUpdatedEntity() {
+        User user = saveUser("John");
+        repository.findOne(user.getId());
+
+        User updatedUser = user.copy();
+        updatedUser.setFirstName("Johnny");
+        repository.update(updatedUser);
+
+        assertEquals("Johnny", repository.findOne(user.getId()).orElseThrow().getFirstName());
+        assertEquals(2, delegate.findOneCalls);
+    }
+
+    @Test
+    void invalidatesAgainOnceUnitOfWorkCommits() {
+        User user = saveUser("John");
+        SegmentedLruCache<String, User> cache = repository.getCache();
+
+        UnitOfWork.run(() -> {
+            User updatedUser = user.copy();
+            updatedUser.setFirstName("Johnny");
+            repository.update(updatedUser);
+
+            // A concurrent lookup caches the value the transaction is replacing
+            cache.put(user.getId(), user.copy());
+            assertEquals(1, cache.size());
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keepsCacheWhenUnitOfWorkRollsBack() {
+        User user = saveUser("John");
+        SegmentedLruCache<String, User> cache = repository.getCache();
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            repository.update(user.copy());
+            cache.put(user.getId(), user.copy());
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void doesNotCacheEntitiesReadWithinUnitOfWork() {
+        User user = saveUser("John");
+
+        UnitOfWork.run(() -> repository.findOne(user.getId()));
+        repository.findOne(user.getId());
+
+        assertEquals(2, delegate.findOneCalls);
+    }
+
+    @Test
+    void forgetsDeletedEntitiesInExistenceChecks() {
+        User user = saveUser("John");
+
+        assertTrue(repository.exists(user.getId()));
+        repository.delete(user.getId());
+
+        assertFalse(repository.exists(user.getId()));
+        assertTrue(repository.findOne(user.getId()).isEmpty());
+    }
+
+    @Test
+    void checksKnownIdentifiersAgainOnceTheyExpire() throws InterruptedException {
+        CachingRepository<String, User> expiringRepository = new CachingRepository<>(delegate, 10, 50, User::copy);
+        User user = saveUser("John");
+
+        assertTrue(expiringRepository.exists(user.getId()));
+        assertTrue(expiringRepository.exists(user.getId()));
+        assertEquals(1, delegate.existsCalls);
+
+        // Deleted behind the back of the caching repository, as a set-based statement would
+        delegate.delete(user.getId());
+        Thread.sleep(80);
+
+        assertFalse(expiringRepository.exists(user.getId()));
+        assertEquals(2, delegate.existsCalls);
+    }
+
+    /**
+     * In-memory repository counting the lookups that reach it.
+     */
+    private static class CountingRepository extends InMemoryRepository<String, User> {
+
+        int findOneCalls = 0;
+        int existsCalls = 0;
+        final List<List<String>> findAllByIdCalls = new ArrayList<>();
+
+        CountingRepository() {
+            super(user -> {
+            });
+        }
+
+        @Override
+        public Optional<User> findOne(String id) {
+            findOneCalls++;
+            return super.findOne(id);
+        }
+
+        @Override
+        public boolean exists(String id) {
+            existsCalls++;
+            return super.exists(id);
+        }
+
+        @Override
+        public Iterable<User> findAllById(Collection<String> ids) {
+            findAllByIdCalls.add(List.copyOf(ids));
+            return super.findAllById(ids);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.repository.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentedLruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedProbationaryEntry() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 0);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(Optional.of(4), cache.get("d"));
+    }
+
+    @Test
+    void keepsEntriesHitAgainThroughScans() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(5, 0);
+        cache.put("hot", 0);
+        cache.get("hot");
+
+        // A burst of values read only once evicts other one-off values
+        for (int i = 0; i < 20; i++) {
+            cache.put("scan" + i, i);
+        }
+
+        assertEquals(Optional.of(0), cache.get("hot"));
+        assertTrue(cache.get("scan0").isEmpty());
+        assertEquals(Optional.of(19), cache.get("scan19"));
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    void demotesLeastRecentlyUsedProtectedEntryWhenProtectedSegmentIsFull() {
+        // The protected segment holds at most 4 of the 5 entries
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(5, 0);
+        for (String key : new String[]{"a", "b", "c", "d", "e"}) {
+            cache.put(key, 0);
+            cache.get(key);
+        }
+
+        // "a" was demoted to probation, so it is the first entry evicted
+        cache.put("f", 0);
+
+        assertEquals(5, cache.size());
+        assertTrue(cache.get("a").isEmpty());
+        for (String key : new String[]{"b", "c", "d", "e", "f"}) {
+            assertTrue(cache.get(key).isPresent(), key);
+        }
+    }
+
+    @Test
+    void replacesValueOfProtectedEntry() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 0);
+        cache.put("a", 1);
+        cache.get("a");
+        cache.put("a", 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(Optional.of(2), cache.get("a"));
+    }
+
+    @Test
+    void expiresEntriesAfterTimeToLive() throws InterruptedException {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 50);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("b");
+        assertEquals(Optional.of(1), cache.get("a"));
+
+        Thread.sleep(80);
+
+        assertTrue(cache.get("a").isEmpty());
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshesTimeToLiveWhenValueIsReplaced() throws InterruptedException {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 100);
+        cache.put("a", 1);
+        Thread.sleep(60);
+        cache.put("a", 2);
+        Thread.sleep(60);
+
+        assertEquals(Optional.of(2), cache.get("a"));
+    }
+
+    @Test
+    void invalidatesEntriesOfBothSegments() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 0);
+        cache.put("a", 1);
+        cache.get("a");
+        cache.put("b", 2);
+
+        cache.invalidate("a");
+        cache.invalidate("b");
+        assertEquals(0, cache.size());
+
+        cache.put("c", 3);
+        cache.invalidateAll();
+        assertTrue(cache.get("c").isEmpty());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        SegmentedLruCache<String, Integer> cache = new SegmentedLruCache<>(3, 0);
+        cache.get("a");
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("a");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedLruCache<>(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentedLruCache<>(1, -1));
+    }
+}
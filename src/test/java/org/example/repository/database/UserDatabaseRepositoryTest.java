@@ -0,0 +1,80 @@
+package org.example.repository.database;
+
+import org.example.models.User;
+import org.example.utils.Paging.Pageable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserDatabaseRepositoryTest {
+
+    private static User user(String firstName, String lastName) {
+        return new User(firstName, lastName, "password", "user@example.com");
+    }
+
+    @Test
+    void cursorRoundTripsSortKey() {
+        User user = user("John", "Doe");
+
+        List<Object> key = UserDatabaseRepository.decodeCursor(UserDatabaseRepository.encodeCursor(user));
+
+        assertEquals(List.of("Doe", "John", UUID.fromString(user.getId())), key);
+    }
+
+    @Test
+    void cursorRoundTripsNamesContainingSeparators() {
+        User user = user("Jean.Luc\0", ".\0Picard.");
+
+        List<Object> key = UserDatabaseRepository.decodeCursor(UserDatabaseRepository.encodeCursor(user));
+
+        assertEquals(List.of(".\0Picard.", "Jean.Luc\0", UUID.fromString(user.getId())), key);
+    }
+
+    @Test
+    void cursorRoundTripsEmptyAndNonAsciiNames() {
+        User user = user("", "Ștefănescu");
+
+        List<Object> key = UserDatabaseRepository.decodeCursor(UserDatabaseRepository.encodeCursor(user));
+
+        assertEquals(List.of("Ștefănescu", "", UUID.fromString(user.getId())), key);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> UserDatabaseRepository.decodeCursor("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> UserDatabaseRepository.decodeCursor("YQ.Yg"));
+        assertThrows(IllegalArgumentException.class, () -> UserDatabaseRepository.decodeCursor("YQ.Yg.Yw"));
+    }
+
+    @Test
+    void fullKeysetPageCarriesCursorOfItsLastUser() {
+        List<User> users = List.of(user("Ann", "Able"), user("Bob", "Baker"));
+
+        String cursor = UserDatabaseRepository.nextCursor(new Pageable(0, 2, null), users);
+
+        assertNotNull(cursor);
+        assertEquals(List.of("Baker", "Bob", UUID.fromString(users.get(1).getId())),
+                UserDatabaseRepository.decodeCursor(cursor));
+    }
+
+    @Test
+    void lastAndEmptyKeysetPagesCarryNoCursor() {
+        List<User> users = List.of(user("Ann", "Able"));
+
+        assertNull(UserDatabaseRepository.nextCursor(new Pageable(0, 2, null), users));
+        assertNull(UserDatabaseRepository.nextCursor(new Pageable(0, 2, null), List.of()));
+    }
+
+    @Test
+    void offsetPagesCarryNoCursor() {
+        List<User> users = List.of(user("Ann", "Able"), user("Bob", "Baker"));
+
+        assertNull(UserDatabaseRepository.nextCursor(new Pageable(0, 2), users));
+    }
+}
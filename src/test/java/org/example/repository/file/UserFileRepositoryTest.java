@@ -0,0 +1,135 @@
+package org.example.repository.file;
+
+import org.example.models.User;
+import org.example.models.validators.UserValidator;
+import org.example.utils.Config;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserFileRepositoryTest {
+
+    private final String fileName = "userFileRepositoryTest-" + UUID.randomUUID();
+
+    private UserFileRepository repository;
+
+    @BeforeEach
+    void createRepository() throws IOException {
+        repository = new UserFileRepository(fileName, new UserValidator());
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(Paths.get(Config.DEFAULT_LOCAL_STORAGE_PATH, fileName + ".csv"));
+    }
+
+    @Test
+    void findsSavedUsersByEmail() {
+        User user = new User("John", "Doe", "password", "john@example.com");
+        repository.save(user);
+
+        assertEquals(Optional.of(user), repository.findByEmail("john@example.com"));
+        assertTrue(repository.findByEmail("jane@example.com").isEmpty());
+    }
+
+    @Test
+    void rejectsUserWithEmailInUse() {
+        User user = new User("John", "Doe", "password", "john@example.com");
+        repository.save(user);
+
+        assertTrue(repository.save(new User("Johnny", "Doe", "password", "john@example.com")).isEmpty());
+        assertEquals(Optional.of(user.getId()), repository.findByEmail("john@example.com").map(User::getId));
+    }
+
+    @Test
+    void saveAllSkipsUsersWithEmailInUse() {
+        User john = new User("John", "Doe", "password", "john@example.com");
+        repository.save(john);
+
+        User jane = new User("Jane", "Doe", "password", "jane@example.com");
+        int savedUsers = repository.saveAll(List.of(
+                new User("Johnny", "Doe", "password", "john@example.com"),
+                jane,
+                new User("Janet", "Doe", "password", "jane@example.com")));
+
+        assertEquals(1, savedUsers);
+        assertEquals(Optional.of(john.getId()), repository.findByEmail("john@example.com").map(User::getId));
+        assertEquals(Optional.of(jane.getId()), repository.findByEmail("jane@example.com").map(User::getId));
+    }
+
+    @Test
+    void reindexesUserUpdatedWithNewInstance() {
+        User user = new User("John", "Doe", "password", "john@example.com");
+        repository.save(user);
+
+        User updatedUser = new User("John", "Doe", "password", "johnny@example.com");
+        updatedUser.setId(user.getId());
+        repository.update(updatedUser);
+
+        assertTrue(repository.findByEmail("john@example.com").isEmpty());
+        assertEquals(Optional.of(updatedUser), repository.findByEmail("johnny@example.com"));
+    }
+
+    @Test
+    void reindexesStoredUserChangedInPlace() {
+        User user = new User("John", "Doe", "password", "john@example.com");
+        repository.save(user);
+
+        // The stored instance already carries the new email when it is updated
+        user.setEmail("johnny@example.com");
+        repository.update(user);
+
+        assertTrue(repository.findByEmail("john@example.com").isEmpty());
+        assertEquals(Optional.of(user), repository.findByEmail("johnny@example.com"));
+    }
+
+    @Test
+    void keepsEmailTakenOverByAnotherUser() {
+        User john = new User("John", "Doe", "password", "john@example.com");
+        User jane = new User("Jane", "Doe", "password", "jane@example.com");
+        repository.save(john);
+        repository.save(jane);
+
+        john.setEmail("johnny@example.com");
+        repository.update(john);
+        jane.setEmail("john@example.com");
+        repository.update(jane);
+
+        assertEquals(Optional.of(jane), repository.findByEmail("john@example.com"));
+        assertEquals(Optional.of(john), repository.findByEmail("johnny@example.com"));
+        assertTrue(repository.findByEmail("jane@example.com").isEmpty());
+    }
+
+    @Test
+    void removesDeletedUsersFromIndex() {
+        User john = new User("John", "Doe", "password", "john@example.com");
+        User jane = new User("Jane", "Doe", "password", "jane@example.com");
+        repository.saveAll(List.of(john, jane));
+
+        repository.delete(john.getId());
+        repository.deleteAll(List.of(jane.getId()));
+
+        assertTrue(repository.findByEmail("john@example.com").isEmpty());
+        assertTrue(repository.findByEmail("jane@example.com").isEmpty());
+    }
+
+    @Test
+    void indexesUsersLoadedFromFile() throws IOException {
+        User user = new User("John", "Doe", "password", "john@example.com");
+        repository.save(user);
+
+        UserFileRepository reloadedRepository = new UserFileRepository(fileName, new UserValidator());
+
+        assertEquals(user.getId(), reloadedRepository.findByEmail("john@example.com").map(User::getId).orElse(null));
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.repository.memory;
+
+import org.example.models.Notification;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRepositoryTest {
+
+    private final InMemoryRepository<String, Notification> repository = new InMemoryRepository<>(notification -> {
+    });
+
+    private static Notification notification(String id, String description) {
+        Notification notification = new Notification(description, "uid");
+        notification.setId(id);
+        return notification;
+    }
+
+    @Test
+    void savesEntitiesWithNewIdentifiers() {
+        Notification first = notification("1", "First");
+        Notification second = notification("2", "Second");
+
+        assertEquals(Optional.of(first), repository.save(first));
+        assertEquals(Optional.of(second), repository.save(second));
+        assertSame(second, repository.findOne("2").orElseThrow());
+    }
+
+    @Test
+    void rejectsEntityWithExistingIdentifierWithoutReplacingIt() {
+        Notification stored = notification("1", "Stored");
+        repository.save(stored);
+
+        assertTrue(repository.save(notification("1", "Other")).isEmpty());
+        assertSame(stored, repository.findOne("1").orElseThrow());
+    }
+
+    @Test
+    void rejectsNullEntity() {
+        assertThrows(NullPointerException.class, () -> repository.save(null));
+    }
+
+    @Test
+    void saveAllSkipsExistingAndRepeatedIdentifiers() {
+        Notification stored = notification("1", "Stored");
+        repository.save(stored);
+
+        int savedEntities = repository.saveAll(List.of(
+                notification("1", "Other"), notification("2", "Second"), notification("2", "Repeated")));
+
+        assertEquals(1, savedEntities);
+        assertSame(stored, repository.findOne("1").orElseThrow());
+        assertEquals("Second", repository.findOne("2").orElseThrow().getDescription());
+    }
+}
@@ -0,0 +1,244 @@
+package org.example.service.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.Message;
+import org.example.service.MessageService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversationCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final FakeMessageService messageService = new FakeMessageService();
+
+    private final ConversationCache cache = new ConversationCache(messageService, 10, 3, 0, 1_000);
+
+    private int nextId = 0;
+
+    private Message send(String senderId, String receiverId, long secondsAfterStart) {
+        Message message = new Message(senderId, receiverId, "message " + nextId);
+        message.setId(String.format("%08d-0000-0000-0000-000000000000", nextId++));
+        message.setDate(START.plusSeconds(secondsAfterStart));
+        messageService.messages.add(message);
+        return message;
+    }
+
+    private static List<String> texts(List<Message> messages) {
+        return messages.stream().map(Message::getMessage).toList();
+    }
+
+    @Test
+    void loadsLatestMessagesOnFirstRead() {
+        send("a", "b", 0);
+        send("b", "a", 10);
+        send("a", "b", 20);
+        send("b", "a", 30);
+
+        assertEquals(List.of("message 2", "message 3"), texts(cache.getLatest("a", "b", 2)));
+        assertEquals(1, messageService.conversationReads);
+        assertEquals(0, messageService.refreshReads);
+    }
+
+    @Test
+    void refreshesOnlyMessagesSentSinceNewestCachedOne() {
+        send("a", "b", 0);
+        send("b", "a", 10);
+        cache.getLatest("a", "b", 3);
+
+        send("a", "b", 20);
+        List<Message> messages = cache.getLatest("b", "a", 3);
+
+        assertEquals(List.of("message 0", "message 1", "message 2"), texts(messages));
+        assertEquals(1, messageService.conversationReads);
+        assertEquals(1, messageService.refreshReads);
+        assertEquals(START.plusSeconds(9), messageService.lastSince);
+    }
+
+    @Test
+    void mergesOverlappingRefreshWithoutDuplicatesAndTruncatesToTailSize() {
+        send("a", "b", 0);
+        send("a", "b", 10);
+        send("a", "b", 20);
+        cache.getLatest("a", "b", 3);
+
+        // The refresh reaches back one second, so it returns the newest cached message again
+        send("a", "b", 21);
+
+        assertEquals(List.of("message 1", "message 2", "message 3"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void replacesTailWhenRefreshReturnsAsManyMessagesAsItHolds() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        send("a", "b", 10);
+        send("a", "b", 20);
+        send("a", "b", 30);
+
+        assertEquals(List.of("message 1", "message 2", "message 3"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void ordersMessagesSentAtSameDateByIdentifier() {
+        Message second = send("a", "b", 0);
+        Message first = send("b", "a", 0);
+        // Swap the identifiers so that insertion order and identifier order differ
+        String secondId = second.getId();
+        second.setId(first.getId());
+        first.setId(secondId);
+
+        assertEquals(List.of("message 1", "message 0"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void appendsSentMessageOnceUnitOfWorkCommits() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        Message message = new Message("a", "b", "sent");
+        message.setId("99999999-0000-0000-0000-000000000000");
+        message.setDate(START.plusSeconds(10));
+
+        UnitOfWork.run(() -> {
+            cache.append(message);
+            assertEquals(List.of("message 0"), texts(cache.getLatest("a", "b", 3)));
+        });
+
+        // The refresh does not see the message, which was not stored through the fake service
+        assertEquals(List.of("message 0", "sent"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void keepsAppendedMessageOnceWhenRefreshReturnsIt() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        // Stored under the identifier it carries, as the repository stores it
+        Message message = send("a", "b", 10);
+        UnitOfWork.run(() -> cache.append(message));
+
+        assertEquals(List.of("message 0", "message 1"), texts(cache.getLatest("a", "b", 3)));
+        assertEquals(List.of("message 0", "message 1"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void replacesAppendedMessageReadBackUnderAnotherIdentifier() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        Message stored = send("a", "b", 10);
+        Message appended = new Message("a", "b", stored.getMessage());
+        appended.setId("99999999-0000-0000-0000-000000000000");
+        appended.setDate(stored.getDate());
+        UnitOfWork.run(() -> cache.append(appended));
+
+        List<Message> messages = cache.getLatest("a", "b", 3);
+
+        assertEquals(List.of("message 0", "message 1"), texts(messages));
+        assertEquals(stored.getId(), messages.getLast().getId());
+    }
+
+    @Test
+    void discardsAppendedMessageWhenUnitOfWorkRollsBack() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        Message message = new Message("a", "b", "sent");
+        message.setId("99999999-0000-0000-0000-000000000000");
+        message.setDate(START.plusSeconds(10));
+
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.run(() -> {
+            cache.append(message);
+            throw new IllegalStateException();
+        }));
+
+        assertEquals(List.of("message 0"), texts(cache.getLatest("a", "b", 3)));
+    }
+
+    @Test
+    void readsLargerPagesFromDatabase() {
+        for (int i = 0; i < 5; i++) {
+            send("a", "b", i);
+        }
+        cache.getLatest("a", "b", 3);
+
+        List<Message> messages = cache.getLatest("a", "b", 5);
+
+        assertEquals(List.of("message 0", "message 1", "message 2", "message 3", "message 4"), texts(messages));
+        assertEquals(2, messageService.conversationReads);
+        assertEquals(5, messageService.lastLimit);
+    }
+
+    @Test
+    void readsFromDatabaseWithinUnitOfWork() {
+        send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        UnitOfWork.run(() -> cache.getLatest("a", "b", 3));
+
+        assertEquals(2, messageService.conversationReads);
+        assertEquals(0, messageService.refreshReads);
+    }
+
+    @Test
+    void reloadsInvalidatedConversation() {
+        Message message = send("a", "b", 0);
+        cache.getLatest("a", "b", 3);
+
+        message.setMessage("edited");
+        cache.invalidate("b", "a");
+
+        assertEquals(List.of("edited"), texts(cache.getLatest("a", "b", 3)));
+        assertEquals(2, messageService.conversationReads);
+    }
+
+    /**
+     * Message service reading conversations from a list, ordered like the database orders them.
+     */
+    private static class FakeMessageService extends MessageService {
+
+        final List<Message> messages = new ArrayList<>();
+        int conversationReads = 0;
+        int refreshReads = 0;
+        int lastLimit = 0;
+        LocalDateTime lastSince = null;
+
+        FakeMessageService() {
+            super(null);
+        }
+
+        @Override
+        public List<Message> findConversation(String uid1, String uid2, LocalDateTime before, String beforeId,
+                                              int limit) {
+            conversationReads++;
+            lastLimit = limit;
+            return latest(uid1, uid2, null, limit);
+        }
+
+        @Override
+        public List<Message> findConversationSince(String uid1, String uid2, LocalDateTime since, int limit) {
+            refreshReads++;
+            lastSince = since;
+            return latest(uid1, uid2, since, limit);
+        }
+
+        private List<Message> latest(String uid1, String uid2, LocalDateTime since, int limit) {
+            return messages.stream()
+                    .filter(message -> message.getSenderId().equals(uid1) && message.getReceiverId().equals(uid2)
+                            || message.getSenderId().equals(uid2) && message.getReceiverId().equals(uid1))
+                    .filter(message -> since == null || !message.getDate().isBefore(since))
+                    .sorted(Comparator.comparing(Message::getDate).thenComparing(Message::getId).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package org.example.service.cache;
+
+import org.example.database.UnitOfWork;
+import org.example.models.User;
+import org.example.models.dtos.UserFilterDTO;
+import org.example.service.UserService;
+import org.example.service.cache.UserSearchCache.Candidates;
+import org.example.service.cache.UserSearchCache.SearchKey;
+import org.example.utils.Paging.Page;
+import org.example.utils.Paging.Pageable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchCacheTest {
+
+    private final FakeUserService userService = new FakeUserService();
+
+    private final UserSearchCache cache = new UserSearchCache(userService, 10, 3, 0);
+
+    private static UserFilterDTO filter(String firstName, String lastName, String email) {
+        UserFilterDTO filter = new UserFilterDTO();
+        filter.setFirstName(Optional.ofNullable(firstName));
+        filter.setLastName(Optional.ofNullable(lastName));
+        filter.setEmail(Optional.ofNullable(email));
+        return filter;
+    }
+
+    private void addUser(String firstName, String lastName) {
+        userService.users.add(new User(firstName, lastName, "password",
+                firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com"));
+    }
+
+    private static List<String> firstNames(Page<User> page) {
+        return StreamSupport.stream(page.getElementsOnPage().spliterator(), false).map(User::getFirstName).toList();
+    }
+
+    @Test
+    void computesTrigramSimilarityLikePgTrgm() {
+        assertEquals(4.0 / 11, UserSearchCache.similarity("word", "two words"), 1e-6);
+        assertEquals(0.363636, UserSearchCache.similarity("word", "two words"), 1e-6);
+        assertEquals(2.0 / 7, UserSearchCache.similarity("john", "jon"), 1e-9);
+        assertEquals(1.0, UserSearchCache.similarity("john", "john"), 1e-9);
+        assertEquals(0.0, UserSearchCache.similarity("john", "mary"), 1e-9);
+        assertEquals(0.0, UserSearchCache.similarity("", "john"), 1e-9);
+    }
+
+    @Test
+    void normalizesSearchTerms() {
+        SearchKey key = SearchKey.of(filter("  JoHn ", " ", null));
+
+        assertEquals(new SearchKey("john", null, null), key);
+    }
+
+    @Test
+    void matchesEveryTermAsCaseInsensitiveSubstring() {
+        User user = new User("Johnny", "Doe", "password", "johnny.doe@example.com");
+
+        assertTrue(new SearchKey("ohn", null, null).matches(user));
+        assertTrue(new SearchKey("john", "do", "example").matches(user));
+        assertTrue(new SearchKey(null, null, null).matches(user));
+        assertFalse(new SearchKey("john", "smith", null).matches(user));
+        assertFalse(new SearchKey(null, null, "gmail").matches(user));
+    }
+
+    @Test
+    void cachesNarrowSearchOrderedByRelevance() {
+        userService.relevanceOrdered = true;
+        addUser("Jonathan", "Able");
+        addUser("Jon", "Baker");
+
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jon", null, null));
+        cache.findOnPage(new Pageable(0, 10), filter("JON ", null, null));
+
+        assertEquals(List.of("Jon", "Jonathan"), firstNames(page));
+        assertEquals(2, page.getTotalNumberOfElements());
+        assertEquals(1, userService.reads.size());
+    }
+
+    @Test
+    void refinesCachedSearchWithoutReadingDatabase() {
+        addUser("John", "Able");
+        addUser("Jonathan", "Baker");
+        addUser("Joanna", "Carter");
+        cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+
+        Optional<Candidates> candidates = cache.findCandidates(new SearchKey("joh", null, null));
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jo", "ab", null));
+
+        assertEquals(List.of("John"), candidates.orElseThrow().users().stream().map(User::getFirstName).toList());
+        assertTrue(candidates.get().complete());
+        assertEquals(List.of("John"), firstNames(page));
+        assertEquals(1, userService.reads.size());
+    }
+
+    @Test
+    void refinesSearchByRemovingTrailingCharactersOfOneTerm() {
+        addUser("John", "Able");
+        cache.findOnPage(new Pageable(0, 10), filter(null, "a", null));
+
+        assertTrue(cache.findCandidates(new SearchKey(null, "able", null)).isPresent());
+        assertTrue(cache.findCandidates(new SearchKey("j", "a", null)).isPresent());
+        assertTrue(cache.findCandidates(new SearchKey(null, "b", null)).isEmpty());
+        assertTrue(cache.findCandidates(new SearchKey("x", "b", null)).isEmpty());
+    }
+
+    @Test
+    void ordersRefinedSearchByRelevance() {
+        userService.relevanceOrdered = true;
+        addUser("Jonathan", "Able");
+        addUser("Jon", "Baker");
+        addUser("Joanna", "Carter");
+        cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jon", null, null));
+
+        assertEquals(List.of("Jon", "Jonathan"), firstNames(page));
+        assertEquals(1, userService.reads.size());
+    }
+
+    @Test
+    void ordersRefinedSearchByNameWithoutRelevanceOrdering() {
+        addUser("Jonathan", "Able");
+        addUser("Jon", "Baker");
+        cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jon", null, null));
+
+        assertEquals(List.of("Jonathan", "Jon"), firstNames(page));
+        assertEquals(1, userService.reads.size());
+    }
+
+    @Test
+    void handsOutCopiesOfCachedUsers() {
+        addUser("John", "Able");
+
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+        page.getElementsOnPage().forEach(user -> user.setFirstName("Changed"));
+        userService.users.getFirst().setLastName("Changed");
+
+        User user = cache.findOnPage(new Pageable(0, 10), filter("jo", null, null)).getElementsOnPage()
+                .iterator().next();
+        assertEquals("John", user.getFirstName());
+        assertEquals("Able", user.getLastName());
+        assertEquals(1, userService.reads.size());
+    }
+
+    @Test
+    void cachesFirstUsersOfBroadSearchWithoutRefiningIt() {
+        addUser("Jane", "Able");
+        addUser("John", "Baker");
+        addUser("Joanna", "Carter");
+        addUser("Jonas", "Doe");
+
+        Page<User> firstPage = cache.findOnPage(new Pageable(0, 2), filter("j", null, null));
+        Page<User> secondPage = cache.findOnPage(new Pageable(1, 1), filter("j", null, null));
+
+        assertEquals(List.of("Jane", "John"), firstNames(firstPage));
+        assertEquals(4, firstPage.getTotalNumberOfElements());
+        assertEquals(List.of("John"), firstNames(secondPage));
+        assertEquals(1, userService.reads.size());
+
+        Candidates candidates = cache.findCandidates(new SearchKey("j", null, null)).orElseThrow();
+        assertFalse(candidates.complete());
+        assertTrue(cache.findCandidates(new SearchKey("jo", null, null)).isEmpty());
+    }
+
+    @Test
+    void readsPagesPastCachedUsersOfBroadSearchFromDatabase() {
+        addUser("Jane", "Able");
+        addUser("John", "Baker");
+        addUser("Joanna", "Carter");
+        addUser("Jonas", "Doe");
+
+        Page<User> page = cache.findOnPage(new Pageable(1, 2), filter("j", null, null));
+
+        assertEquals(List.of("Joanna", "Jonas"), firstNames(page));
+        assertEquals(2, userService.reads.size());
+        assertEquals(1, userService.reads.get(1).getPageNumber());
+    }
+
+    @Test
+    void readsBrowsingAndKeysetPagesFromDatabase() {
+        addUser("John", "Able");
+
+        cache.findOnPage(new Pageable(0, 10), new UserFilterDTO());
+        cache.findOnPage(new Pageable(0, 10, null), filter("jo", null, null));
+
+        assertEquals(2, userService.reads.size());
+        assertTrue(cache.findCandidates(new SearchKey("jo", null, null)).isEmpty());
+    }
+
+    @Test
+    void readsFromDatabaseWithinUnitOfWork() {
+        addUser("John", "Able");
+
+        UnitOfWork.run(() -> cache.findOnPage(new Pageable(0, 10), filter("jo", null, null)));
+
+        assertEquals(1, userService.reads.size());
+        assertTrue(cache.findCandidates(new SearchKey("jo", null, null)).isEmpty());
+    }
+
+    @Test
+    void readsSearchesAgainOnceInvalidated() {
+        addUser("John", "Able");
+        cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+
+        addUser("Joanna", "Carter");
+        cache.invalidateAll();
+        Page<User> page = cache.findOnPage(new Pageable(0, 10), filter("jo", null, null));
+
+        assertEquals(2, page.getTotalNumberOfElements());
+        assertEquals(2, userService.reads.size());
+    }
+
+    /**
+     * User service searching a list of users, ordered by name, or by relevance then by name.
+     */
+    private static class FakeUserService extends UserService {
+
+        final List<User> users = new ArrayList<>();
+        final List<Pageable> reads = new ArrayList<>();
+        boolean relevanceOrdered = false;
+
+        FakeUserService() {
+            super(null);
+        }
+
+        @Override
+        public boolean isSearchRelevanceOrdered() {
+            return relevanceOrdered;
+        }
+
+        @Override
+        public Page<User> findAllOnPage(Pageable pageable, UserFilterDTO filter) {
+            reads.add(pageable);
+            SearchKey key = SearchKey.of(filter);
+            Comparator<User> nameOrder = Comparator.comparing(User::getLastName).thenComparing(User::getFirstName);
+            List<User> matchingUsers = users.stream()
+                    .filter(key::matches)
+                    .sorted(relevanceOrdered
+                            ? Comparator.comparingDouble((User user) -> -key.relevance(user)).thenComparing(nameOrder)
+                            : nameOrder)
+                    .toList();
+
+            int fromIndex = Math.min(pageable.getPageNumber() * pageable.getPageSize(), matchingUsers.size());
+            int toIndex = Math.min(fromIndex + pageable.getPageSize(), matchingUsers.size());
+            return new Page<>(matchingUsers.subList(fromIndex, toIndex), matchingUsers.size());
+        }
+    }
+}